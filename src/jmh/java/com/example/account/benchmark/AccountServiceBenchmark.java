@@ -0,0 +1,60 @@
+package com.example.account.benchmark;
+
+import com.example.account.domain.AccountUser;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.service.AccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.benchmark.BenchmarkFixture.INITIAL_BALANCE;
+import static com.example.account.benchmark.BenchmarkFixture.MAX_ACCOUNT_PER_USER;
+
+/**
+ * 계좌 생성 경로의 처리량과 지연시간(p50/p99)을 측정한다.
+ * 사용자 당 계좌는 10개까지만 만들 수 있으므로 10개마다 새 사용자를 준비한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class AccountServiceBenchmark {
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private AccountUserRepository accountUserRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        accountService = context.getBean(AccountService.class);
+        accountUserRepository = context.getBean(AccountUserRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object createAccount(UserSlot userSlot) {
+        userSlot.created++;
+        return accountService.createAccount(userSlot.accountUser.getId(), INITIAL_BALANCE);
+    }
+
+    @State(Scope.Thread)
+    public static class UserSlot {
+        AccountUser accountUser;
+        int created;
+
+        @Setup(Level.Invocation)
+        public void prepare(AccountServiceBenchmark benchmark) {
+            if (accountUser == null || created >= MAX_ACCOUNT_PER_USER) {
+                accountUser = BenchmarkFixture.newUser(benchmark.accountUserRepository);
+                created = 0;
+            }
+        }
+    }
+}
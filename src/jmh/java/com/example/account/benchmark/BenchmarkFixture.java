@@ -0,0 +1,83 @@
+package com.example.account.benchmark;
+
+import com.example.account.domain.AccountUser;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.service.AccountService;
+import com.example.account.service.TransactionService;
+import org.springframework.context.ApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벤치마크에서 사용할 사용자/계좌/거래를 미리 만들어 둔다.
+ */
+public class BenchmarkFixture {
+    public static final int MAX_ACCOUNT_PER_USER = 10;
+    public static final long INITIAL_BALANCE = 500_000_000L;
+    public static final long AMOUNT = 100L;
+
+    private final long[] userIds;
+    private final String[] accountNumbers;
+    private final String[] seedTransactionIds;
+
+    private BenchmarkFixture(int accountCount) {
+        this.userIds = new long[accountCount];
+        this.accountNumbers = new String[accountCount];
+        this.seedTransactionIds = new String[accountCount];
+    }
+
+    public static BenchmarkFixture create(ApplicationContext context, int accountCount) {
+        AccountUserRepository accountUserRepository = context.getBean(AccountUserRepository.class);
+        AccountService accountService = context.getBean(AccountService.class);
+        TransactionService transactionService = context.getBean(TransactionService.class);
+
+        BenchmarkFixture fixture = new BenchmarkFixture(accountCount);
+        AccountUser accountUser = null;
+        for (int i = 0; i < accountCount; i++) {
+            if (i % MAX_ACCOUNT_PER_USER == 0) {
+                accountUser = newUser(accountUserRepository);
+            }
+            fixture.userIds[i] = accountUser.getId();
+            fixture.accountNumbers[i] = accountService
+                    .createAccount(accountUser.getId(), INITIAL_BALANCE)
+                    .getAccountNumber();
+            // 취소/조회 벤치마크에서 사용할 거래를 하나씩 만들어 둔다.
+            fixture.seedTransactionIds[i] = transactionService
+                    .useBalance(accountUser.getId(), fixture.accountNumbers[i], AMOUNT)
+                    .getTransactionId();
+        }
+        return fixture;
+    }
+
+    public static AccountUser newUser(AccountUserRepository accountUserRepository) {
+        return accountUserRepository.save(AccountUser.builder()
+                .name("bench-" + System.nanoTime())
+                .build());
+    }
+
+    public int nextIndex(AccountDistribution distribution) {
+        if (distribution == AccountDistribution.HOT) {
+            return 0;
+        }
+        return ThreadLocalRandom.current().nextInt(accountNumbers.length);
+    }
+
+    public long userId(int index) {
+        return userIds[index];
+    }
+
+    public String accountNumber(int index) {
+        return accountNumbers[index];
+    }
+
+    public String seedTransactionId(int index) {
+        return seedTransactionIds[index];
+    }
+
+    public enum AccountDistribution {
+        // 모든 스레드가 하나의 계좌에 몰리는 경우
+        HOT,
+        // 전체 계좌에 균등하게 분산되는 경우
+        UNIFORM
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.account.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 스레드 수 별로 벤치마크를 실행하고 결과를 JSON 파일로 남긴다.
+ * 릴리즈 간 비교는 results-{threads}t.json 파일을 비교하면 된다.
+ *
+ * args: [결과 디렉토리] [스레드 수 목록(콤마 구분)] [벤치마크 include 정규식]
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Path outputDirectory = Paths.get(args.length > 0 ? args[0] : "build/reports/jmh");
+        String threadCounts = args.length > 1 ? args[1] : "1,8,64";
+        String includes = args.length > 2 ? args[2] : ".*Benchmark.*";
+        Files.createDirectories(outputDirectory);
+
+        for (String threadCount : threadCounts.split(",")) {
+            int threads = Integer.parseInt(threadCount.trim());
+            Options options = new OptionsBuilder()
+                    .include(includes)
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(outputDirectory.resolve("results-" + threads + "t.json").toString())
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
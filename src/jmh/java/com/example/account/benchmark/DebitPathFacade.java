@@ -0,0 +1,33 @@
+package com.example.account.benchmark;
+
+import com.example.account.aop.AccountLock;
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.service.TransactionService;
+import org.springframework.stereotype.Component;
+
+/**
+ * TransactionController 와 같은 방식으로 @AccountLock 을 거쳐 서비스를 호출한다.
+ * 컨트롤러의 HTTP 처리 없이 "락 + 서비스" 구간만 측정하기 위해 사용.
+ */
+@Component
+public class DebitPathFacade {
+    private final TransactionService transactionService;
+
+    public DebitPathFacade(TransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    @AccountLock
+    public TransactionDto useBalance(UseBalance.Request request) {
+        return transactionService.useBalance(request.getUserId(),
+                request.getAccountNumber(), request.getAmount());
+    }
+
+    @AccountLock
+    public TransactionDto cancelBalance(CancelBalance.Request request) {
+        return transactionService.cancelBalance(request.getTransactionId(),
+                request.getAccountNumber(), request.getAmount());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.account.benchmark;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.benchmark.BenchmarkFixture.AMOUNT;
+import static com.example.account.type.TransactionResultType.SUCCESS;
+import static com.example.account.type.TransactionType.USE_BALANCE;
+
+/**
+ * 거래 10,000 건을 한 트랜잭션에서 저장할 때의 실행 SQL 수를 비교한다.
+ * idIncrementSize=1, jdbcBatchSize=1 이 이전 설정(insert 마다 시퀀스 조회 + insert 1건씩)이다.
+ * statements / operations 로 10,000 건당 statement 수를 계산한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class EntityInsertBenchmark {
+    private static final int INSERT_COUNT = 10_000;
+
+    @Param({"1", "50"})
+    public int idIncrementSize;
+
+    @Param({"1", "100"})
+    public int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionRepository transactionRepository;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private Account account;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "spring.jpa.properties.account.id.increment_size=" + idIncrementSize,
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                "spring.jpa.properties.hibernate.generate_statistics=true");
+        transactionRepository = context.getBean(TransactionRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        statistics = context.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        BenchmarkFixture fixture = BenchmarkFixture.create(context, 1);
+        account = context.getBean(AccountRepository.class)
+                .findByAccountNumber(fixture.accountNumber(0))
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object insertTransactions(Statements statements) {
+        List<Transaction> transactions = new ArrayList<>(INSERT_COUNT);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < INSERT_COUNT; i++) {
+            transactions.add(Transaction.builder()
+                    .transactionType(USE_BALANCE)
+                    .transactionResultType(SUCCESS)
+                    .account(account)
+                    .amount(AMOUNT)
+                    .balanceSnapshot(BenchmarkFixture.INITIAL_BALANCE)
+                    .transactionId(UUID.randomUUID().toString())
+                    .transactedAt(now)
+                    .build());
+        }
+
+        long before = statistics.getPrepareStatementCount();
+        Object result = transactionTemplate.execute(status -> transactionRepository.saveAll(transactions));
+        statements.statements += statistics.getPrepareStatementCount() - before;
+        statements.operations++;
+        return result;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long statements;
+        public long operations;
+    }
+}
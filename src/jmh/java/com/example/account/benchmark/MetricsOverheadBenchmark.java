@@ -0,0 +1,55 @@
+package com.example.account.benchmark;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.dto.UseBalance;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.benchmark.BenchmarkFixture.AMOUNT;
+
+/**
+ * 잔액 사용 경로에서 메트릭 수집 비용 측정.
+ * metrics=false 는 모든 meter 를 비활성화(noop)한 경우로, 두 결과의 차이가 수집 비용이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+    private static final int ACCOUNT_COUNT = 64;
+
+    @Param({"true", "false"})
+    public boolean metrics;
+
+    private ConfigurableApplicationContext context;
+    private DebitPathFacade debitPathFacade;
+    private BenchmarkFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "management.metrics.enable.all=" + metrics);
+        debitPathFacade = context.getBean(DebitPathFacade.class);
+        fixture = BenchmarkFixture.create(context, ACCOUNT_COUNT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object useBalance() {
+        int index = fixture.nextIndex(BenchmarkFixture.AccountDistribution.UNIFORM);
+        try {
+            return debitPathFacade.useBalance(new UseBalance.Request(
+                    fixture.userId(index), fixture.accountNumber(index), AMOUNT));
+        } catch (AccountException e) {
+            return e.getErrorCode();
+        }
+    }
+}
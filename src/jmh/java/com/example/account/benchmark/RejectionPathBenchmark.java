@@ -0,0 +1,71 @@
+package com.example.account.benchmark;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.Exception.GlobalExceptionHandler;
+import com.example.account.dto.ErrorResponse;
+import com.example.account.type.ErrorCode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.type.ErrorCode.AMOUNT_EXCEED_BALANCE;
+
+/**
+ * 잔액 부족 거절 한 건의 예외 생성 + 에러 응답 비용 비교.
+ * withStackTrace 가 이전 방식(매번 stack trace 를 채우는 예외 + 새 ErrorResponse)이다.
+ * depth 는 예외가 발생하는 호출 깊이 (Spring MVC + AOP 를 거치면 100 이상).
+ * 이전 방식은 거절마다 ERROR 로그를 한 줄씩 남겼는데, 그 비용은 여기 포함하지 않는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class RejectionPathBenchmark {
+    @Param({"20", "150"})
+    public int depth;
+
+    private GlobalExceptionHandler globalExceptionHandler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        globalExceptionHandler = new GlobalExceptionHandler();
+    }
+
+    @Benchmark
+    public Object withStackTrace() {
+        try {
+            return reject(depth, true);
+        } catch (StackTraceAccountException e) {
+            return new ErrorResponse(e.errorCode, e.errorCode.getDescription());
+        }
+    }
+
+    @Benchmark
+    public Object stackless() {
+        try {
+            return reject(depth, false);
+        } catch (AccountException e) {
+            return globalExceptionHandler.handleAccountException(e);
+        }
+    }
+
+    private static int reject(int depth, boolean stackTrace) {
+        if (depth == 0) {
+            throw stackTrace
+                    ? new StackTraceAccountException(AMOUNT_EXCEED_BALANCE)
+                    : new AccountException(AMOUNT_EXCEED_BALANCE);
+        }
+        return reject(depth - 1, stackTrace) + 1;
+    }
+
+    // 변경 전 AccountException 과 같이 생성할 때마다 stack trace 를 채운다.
+    private static final class StackTraceAccountException extends RuntimeException {
+        private final ErrorCode errorCode;
+
+        private StackTraceAccountException(ErrorCode errorCode) {
+            this.errorCode = errorCode;
+        }
+    }
+}
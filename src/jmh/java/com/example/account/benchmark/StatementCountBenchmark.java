@@ -0,0 +1,70 @@
+package com.example.account.benchmark;
+
+import com.example.account.dto.UseBalance;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.benchmark.BenchmarkFixture.AMOUNT;
+
+/**
+ * 2차 캐시 사용 여부에 따른 잔액 사용 1건당 실행 SQL 수를 비교한다.
+ * statements / operations 로 요청당 statement 수를 계산한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(1)
+@Fork(1)
+public class StatementCountBenchmark {
+    private static final int ACCOUNT_COUNT = 64;
+
+    @Param({"false", "true"})
+    public boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private DebitPathFacade debitPathFacade;
+    private Statistics statistics;
+    private BenchmarkFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "spring.jpa.properties.hibernate.generate_statistics=true");
+        debitPathFacade = context.getBean(DebitPathFacade.class);
+        statistics = context.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        fixture = BenchmarkFixture.create(context, ACCOUNT_COUNT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object useBalance(Statements statements) {
+        int index = fixture.nextIndex(BenchmarkFixture.AccountDistribution.UNIFORM);
+        long before = statistics.getPrepareStatementCount();
+        Object result = debitPathFacade.useBalance(new UseBalance.Request(
+                fixture.userId(index), fixture.accountNumber(index), AMOUNT));
+        statements.statements += statistics.getPrepareStatementCount() - before;
+        statements.operations++;
+        return result;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long statements;
+        public long operations;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.account.benchmark;
+
+import com.example.account.domain.AccountUser;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.service.AccountService;
+import com.example.account.service.TransactionExportService;
+import com.example.account.type.ExportFormat;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거래 내역 내보내기 처리량 측정 (기본 1,000만 건).
+ * 응답 대신 바이트 수만 세는 스트림에 쓰고, 힙이 작아도(-Xmx512m) 끝까지 내보낼 수 있어야 한다.
+ * 데이터는 힙 밖에 두기 위해 파일 H2 를 사용한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Threads(1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+public class TransactionExportBenchmark {
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"10000000"})
+    public long rows;
+
+    @Param({"NDJSON", "CSV"})
+    public ExportFormat format;
+
+    private ConfigurableApplicationContext context;
+    private TransactionExportService transactionExportService;
+    private Long accountId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "spring.datasource.url=jdbc:h2:file:./build/jmh/export;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.jpa.hibernate.ddl-auto=create-drop");
+        transactionExportService = context.getBean(TransactionExportService.class);
+
+        AccountUser accountUser = BenchmarkFixture.newUser(context.getBean(AccountUserRepository.class));
+        String accountNumber = context.getBean(AccountService.class)
+                .createAccount(accountUser.getId(), BenchmarkFixture.INITIAL_BALANCE)
+                .getAccountNumber();
+        accountId = transactionExportService.getAccountId(accountNumber);
+
+        // 1초 간격으로 rows 건 생성
+        context.getBean(JdbcTemplate.class).update(
+                "insert into transaction (id, transaction_type, transaction_result_type, account_id, " +
+                        "amount, balance_snapshot, transaction_id, transacted_at, created_at, updated_at) " +
+                        "select next value for hibernate_sequence, 'USE_BALANCE', 'SUCCESS', ?, " +
+                        "100, x, 'export' || x, dateadd('SECOND', x, ?), now(), now() " +
+                        "from system_range(1, ?)",
+                accountId, FROM, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long export(Exported exported) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        long count = transactionExportService.export(accountId,
+                FROM, FROM.plusSeconds(rows + 1), format, out);
+        exported.rows += count;
+        exported.bytes += out.count;
+        return count;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Exported {
+        public long rows;
+        public long bytes;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.account.benchmark;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.benchmark.BenchmarkFixture.AccountDistribution;
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.UseBalance;
+import com.example.account.service.TransactionService;
+import com.example.account.type.LockMode;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.benchmark.BenchmarkFixture.AMOUNT;
+
+/**
+ * 잔액 사용/취소/거래 조회 경로의 처리량과 지연시간(p50/p99)을 측정한다.
+ * 잔액 사용/취소는 컨트롤러와 동일하게 계좌 락(@AccountLock)을 거친다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class TransactionServiceBenchmark {
+    private static final int ACCOUNT_COUNT = 64;
+
+    @Param({"HOT", "UNIFORM"})
+    public AccountDistribution distribution;
+
+    @Param({"REDIS", "OPTIMISTIC"})
+    public LockMode lockMode;
+
+    private ConfigurableApplicationContext context;
+    private DebitPathFacade debitPathFacade;
+    private TransactionService transactionService;
+    private BenchmarkFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("account.lock.mode=" + lockMode);
+        debitPathFacade = context.getBean(DebitPathFacade.class);
+        transactionService = context.getBean(TransactionService.class);
+        fixture = BenchmarkFixture.create(context, ACCOUNT_COUNT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object useBalance(Outcome outcome) {
+        int index = fixture.nextIndex(distribution);
+        try {
+            return debitPathFacade.useBalance(new UseBalance.Request(
+                    fixture.userId(index), fixture.accountNumber(index), AMOUNT));
+        } catch (AccountException e) {
+            outcome.rejected++;
+            return e.getErrorCode();
+        }
+    }
+
+    @Benchmark
+    public Object cancelBalance(Outcome outcome) {
+        int index = fixture.nextIndex(distribution);
+        try {
+            return debitPathFacade.cancelBalance(new CancelBalance.Request(
+                    fixture.seedTransactionId(index), fixture.accountNumber(index), AMOUNT));
+        } catch (AccountException e) {
+            outcome.rejected++;
+            return e.getErrorCode();
+        }
+    }
+
+    @Benchmark
+    public Object queryTransaction() {
+        return transactionService.queryTransaction(
+                fixture.seedTransactionId(fixture.nextIndex(distribution)));
+    }
+
+    /**
+     * 락 획득 실패(OPTIMISTIC 은 재시도 초과) 등으로 거절된 요청 수.
+     * 처리량에 거절된 요청도 포함되므로 결과를 볼 때 함께 확인한다.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+        public long rejected;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.account.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * src/test/http/*.http 와 같은 형태로 API 를 호출한다.
+ * 에러도 200 + ErrorResponse(errorCode) 로 오기 때문에 본문의 errorCode 로 거절을 구분한다.
+ */
+public class AccountApiClient {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration timeout;
+
+    public AccountApiClient(String baseUrl, Duration timeout, ExecutorService executorService) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(executorService)
+                .build();
+    }
+
+    public CompletableFuture<Outcome> createAccount(long userId, long initialBalance) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("userId", userId);
+        body.put("initialBalance", initialBalance);
+        return post("/account", body);
+    }
+
+    public CompletableFuture<Outcome> useBalance(long userId, String accountNumber, long amount) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("userId", userId);
+        body.put("accountNumber", accountNumber);
+        body.put("amount", amount);
+        return post("/use_balance", body);
+    }
+
+    public CompletableFuture<Outcome> cancelBalance(String transactionId, String accountNumber, long amount) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("transactionId", transactionId);
+        body.put("accountNumber", accountNumber);
+        body.put("amount", amount);
+        return post("/cancel_balance", body);
+    }
+
+    public CompletableFuture<Outcome> queryTransaction(String transactionId) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/transaction/" + transactionId))
+                .timeout(timeout)
+                .GET()
+                .build());
+    }
+
+    private CompletableFuture<Outcome> post(String path, Map<String, Object> body) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build());
+    }
+
+    private CompletableFuture<Outcome> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, throwable) -> throwable == null
+                        ? toOutcome(response)
+                        : Outcome.error(errorName(throwable)));
+    }
+
+    private Outcome toOutcome(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            return Outcome.error("HTTP_" + response.statusCode());
+        }
+        try {
+            JsonNode body = objectMapper.readTree(response.body());
+            JsonNode errorCode = body.get("errorCode");
+            if (errorCode != null && !errorCode.isNull() && body.has("errorMessage")) {
+                return Outcome.rejected(errorCode.asText());
+            }
+            return Outcome.success(body);
+        } catch (JsonProcessingException e) {
+            return Outcome.error("INVALID_JSON");
+        }
+    }
+
+    private static String errorName(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+        return cause instanceof HttpTimeoutException ? "TIMEOUT" : cause.getClass().getSimpleName();
+    }
+
+    /**
+     * 요청 결과. 성공이면 응답 본문, 거절이면 errorCode, 그 외(HTTP 오류, 타임아웃 등)는 error.
+     */
+    public static final class Outcome {
+        public enum Type { SUCCESS, REJECTED, ERROR }
+
+        private final Type type;
+        private final String reason;
+        private final JsonNode body;
+
+        private Outcome(Type type, String reason, JsonNode body) {
+            this.type = type;
+            this.reason = reason;
+            this.body = body;
+        }
+
+        static Outcome success(JsonNode body) {
+            return new Outcome(Type.SUCCESS, null, body);
+        }
+
+        static Outcome rejected(String errorCode) {
+            return new Outcome(Type.REJECTED, errorCode, null);
+        }
+
+        static Outcome error(String reason) {
+            return new Outcome(Type.ERROR, reason, null);
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public String text(String field) {
+            JsonNode value = body == null ? null : body.get(field);
+            return value == null || value.isNull() ? null : value.asText();
+        }
+    }
+}
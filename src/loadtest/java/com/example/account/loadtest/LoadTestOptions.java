@@ -0,0 +1,187 @@
+package com.example.account.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * --key=value 형식의 부하 테스트 옵션.
+ * --app.* 옵션은 base-url 없이 실행할 때 함께 띄우는 애플리케이션에 그대로 넘긴다.
+ * (예: --app.account.lock.mode=ATOMIC)
+ */
+public final class LoadTestOptions {
+    // 없으면 같은 JVM 에서 애플리케이션을 임의 포트로 띄운다.
+    private String baseUrl;
+    // 초당 요청 수 (응답과 상관없이 이 속도로 보내는 open model)
+    private double rate = 200;
+    private boolean poisson = true;
+    private int warmupSeconds = 10;
+    private int durationSeconds = 60;
+    private final Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+    private List<Long> userIds = List.of(1L, 2L, 3L, 4L);
+    private int accounts = 8;
+    // 첫 번째 계좌(핫 계좌)로 보내는 잔액 사용 요청 비율
+    private double hotRatio = 0;
+    private long amount = 100;
+    private long initialBalance = 1_000_000_000L;
+    // 응답을 기다리는 요청이 이보다 많으면 보내지 않고 dropped 로 센다.
+    private int maxInFlight = 5000;
+    private long timeoutMs = 10_000;
+    private Path reportDir = Paths.get("build/reports/loadtest");
+    private final Map<String, String> appProperties = new LinkedHashMap<>();
+
+    private LoadTestOptions() {
+        mix.put(Scenario.USE_BALANCE, 80);
+        mix.put(Scenario.CANCEL_BALANCE, 15);
+        mix.put(Scenario.QUERY_TRANSACTION, 5);
+    }
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but was: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (key.startsWith("app.")) {
+                options.appProperties.put(key.substring("app.".length()), value);
+                continue;
+            }
+            switch (key) {
+                case "base-url": options.baseUrl = value; break;
+                case "rate": options.rate = Double.parseDouble(value); break;
+                case "arrival": options.poisson = parseArrival(value); break;
+                case "warmup": options.warmupSeconds = Integer.parseInt(value); break;
+                case "duration": options.durationSeconds = Integer.parseInt(value); break;
+                case "mix": options.parseMix(value); break;
+                case "users": options.userIds = parseUserIds(value); break;
+                case "accounts": options.accounts = Integer.parseInt(value); break;
+                case "hot-ratio": options.hotRatio = Double.parseDouble(value); break;
+                case "amount": options.amount = Long.parseLong(value); break;
+                case "initial-balance": options.initialBalance = Long.parseLong(value); break;
+                case "max-in-flight": options.maxInFlight = Integer.parseInt(value); break;
+                case "timeout-ms": options.timeoutMs = Long.parseLong(value); break;
+                case "report-dir": options.reportDir = Paths.get(value); break;
+                default: throw new IllegalArgumentException("Unknown option: --" + key);
+            }
+        }
+        options.validate();
+        return options;
+    }
+
+    private static boolean parseArrival(String value) {
+        if ("poisson".equalsIgnoreCase(value)) {
+            return true;
+        }
+        if ("uniform".equalsIgnoreCase(value)) {
+            return false;
+        }
+        throw new IllegalArgumentException("--arrival must be poisson or uniform: " + value);
+    }
+
+    // use:80,cancel:15,query:5
+    private void parseMix(String value) {
+        mix.clear();
+        for (String entry : value.split(",")) {
+            String[] pair = entry.trim().split(":");
+            mix.put(Scenario.fromKey(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+        }
+    }
+
+    private static List<Long> parseUserIds(String value) {
+        List<Long> userIds = new ArrayList<>();
+        for (String userId : value.split(",")) {
+            userIds.add(Long.parseLong(userId.trim()));
+        }
+        return userIds;
+    }
+
+    private void validate() {
+        if (rate <= 0 || durationSeconds <= 0 || warmupSeconds < 0) {
+            throw new IllegalArgumentException("rate and duration must be positive");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("--mix needs at least one positive weight");
+        }
+        if (accounts <= 0 || userIds.isEmpty()) {
+            throw new IllegalArgumentException("--accounts and --users must not be empty");
+        }
+        if (hotRatio < 0 || hotRatio > 1) {
+            throw new IllegalArgumentException("--hot-ratio must be between 0 and 1");
+        }
+    }
+
+    public String describe() {
+        StringJoiner mixDescription = new StringJoiner(",");
+        mix.forEach((scenario, weight) -> mixDescription.add(scenario.getKey() + ":" + weight));
+        return String.format("rate=%.1f/s (%s), warmup=%ds, duration=%ds, mix=%s, accounts=%d, hot-ratio=%.2f, amount=%d",
+                rate, poisson ? "poisson" : "uniform", warmupSeconds, durationSeconds,
+                mixDescription, accounts, hotRatio, amount);
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public boolean isPoisson() {
+        return poisson;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public Map<Scenario, Integer> getMix() {
+        return mix;
+    }
+
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+
+    public int getAccounts() {
+        return accounts;
+    }
+
+    public double getHotRatio() {
+        return hotRatio;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public long getInitialBalance() {
+        return initialBalance;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public Path getReportDir() {
+        return reportDir;
+    }
+
+    public Map<String, String> getAppProperties() {
+        return appProperties;
+    }
+}
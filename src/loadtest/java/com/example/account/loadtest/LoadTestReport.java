@@ -0,0 +1,107 @@
+package com.example.account.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 처리량 / 지연시간 보고서. 콘솔에 출력하고 report-dir 에 텍스트 보고서와
+ * 요청 종류 별 HdrHistogram 분포 파일(*.hgrm, 보정된 지연시간)을 남긴다.
+ */
+public class LoadTestReport {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String HEADER_FORMAT = "%-18s %9s %9s %9s %8s %8s %9s %9s %9s %9s %9s %9s%n";
+    private static final String ROW_FORMAT = "%-18s %9d %9d %9d %8d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n";
+
+    private final LoadTestOptions options;
+    private final Collection<ScenarioStats> stats;
+    private final double measuredSeconds;
+
+    public LoadTestReport(LoadTestOptions options, Collection<ScenarioStats> stats, double measuredSeconds) {
+        this.options = options;
+        this.stats = stats;
+        this.measuredSeconds = measuredSeconds;
+    }
+
+    public Path write() throws IOException {
+        Files.createDirectories(options.getReportDir());
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path reportFile = options.getReportDir().resolve("report-" + timestamp + ".txt");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(reportFile), true, StandardCharsets.UTF_8)) {
+            print(out);
+        }
+        for (ScenarioStats scenarioStats : stats) {
+            if (scenarioStats.getCompleted() == 0) {
+                continue;
+            }
+            Path distributionFile = options.getReportDir().resolve(
+                    "latency-" + scenarioStats.getScenario().getKey() + "-" + timestamp + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(distributionFile), true, StandardCharsets.UTF_8)) {
+                // 마이크로초 -> 밀리초
+                scenarioStats.getLatency().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        return reportFile;
+    }
+
+    public void print(PrintStream out) {
+        out.println("== account load test: " + options.describe());
+        out.printf("measured %.1fs%n%n", measuredSeconds);
+
+        out.println("latency (ms, from intended send time - coordinated omission corrected)");
+        printTable(out, true);
+        out.println();
+        out.println("service time (ms, from actual send time)");
+        printTable(out, false);
+
+        for (ScenarioStats scenarioStats : stats) {
+            printCounts(out, scenarioStats.getScenario(), "rejected", scenarioStats.getRejected());
+            printCounts(out, scenarioStats.getScenario(), "errors", scenarioStats.getErrors());
+        }
+    }
+
+    private void printTable(PrintStream out, boolean corrected) {
+        out.printf(HEADER_FORMAT, "scenario", "completed", "success", "rejected", "errors", "dropped",
+                "tput/s", "p50", "p90", "p99", "p99.9", "max");
+        for (ScenarioStats scenarioStats : stats) {
+            if (scenarioStats.getCompleted() == 0 && scenarioStats.getDropped() == 0) {
+                continue;
+            }
+            Histogram histogram = corrected ? scenarioStats.getLatency() : scenarioStats.getServiceTime();
+            out.printf(ROW_FORMAT,
+                    scenarioStats.getScenario().getKey(),
+                    scenarioStats.getCompleted(),
+                    scenarioStats.getSuccess(),
+                    scenarioStats.getRejectedCount(),
+                    scenarioStats.getErrorCount(),
+                    scenarioStats.getDropped(),
+                    scenarioStats.getCompleted() / measuredSeconds,
+                    millis(histogram, PERCENTILES[0]),
+                    millis(histogram, PERCENTILES[1]),
+                    millis(histogram, PERCENTILES[2]),
+                    millis(histogram, PERCENTILES[3]),
+                    histogram.getMaxValue() / 1000.0);
+        }
+    }
+
+    private static void printCounts(PrintStream out, Scenario scenario, String label, Map<String, Long> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        out.println();
+        out.println(scenario.getKey() + " " + label + ":");
+        counts.forEach((reason, count) -> out.printf("  %-32s %d%n", reason, count));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.account.loadtest;
+
+import com.example.account.AccountApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 계좌 API 부하 테스트.
+ * <p>
+ * 계좌를 만든 뒤 --rate 속도로(응답을 기다리지 않는 open model) --mix 비율대로
+ * 잔액 사용 / 취소 / 거래 조회 / 계좌 생성을 보내고 요청 종류 별 처리량과 지연시간을 보고한다.
+ * 취소와 조회는 앞서 성공한 잔액 사용 거래를 대상으로 하고, 대상이 없으면 잔액 사용을 보낸다.
+ * <p>
+ * ./gradlew loadTest -PloadTestArgs="--rate=500 --duration=60 --mix=use:80,cancel:15,query:5 --hot-ratio=0.5"
+ * --base-url 이 없으면 같은 JVM 에서 애플리케이션을 임의 포트로 띄운다. (부하 생성기와 CPU 를 나눠 쓰므로
+ * 절대 수치보다는 변경 전후 비교용, 정확한 측정은 ./gradlew bootRun 으로 띄우고 --base-url 지정)
+ */
+public class LoadTestRunner {
+    private static final int RECENT_TRANSACTIONS = 100_000;
+
+    private final LoadTestOptions options;
+    private final AccountApiClient client;
+    private final Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+    private final List<Account> accounts = new ArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // 취소 대상 (한 번씩만 취소), 조회 대상 (최근 성공 거래 id)
+    private final Queue<UsedTransaction> cancellable = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger cancellableSize = new AtomicInteger();
+    private final AtomicReferenceArray<String> queryable = new AtomicReferenceArray<>(RECENT_TRANSACTIONS);
+    private final AtomicLong queryableCount = new AtomicLong();
+
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+
+    public LoadTestRunner(LoadTestOptions options, AccountApiClient client) {
+        this.options = options;
+        this.client = client;
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario, new ScenarioStats(scenario));
+        }
+        scenarios = options.getMix().keySet().toArray(new Scenario[0]);
+        cumulativeWeights = new int[scenarios.length];
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            total += Math.max(0, options.getMix().get(scenarios[i]));
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext context = null;
+        ExecutorService executorService = Executors.newFixedThreadPool(
+                Math.max(4, Runtime.getRuntime().availableProcessors()));
+        try {
+            String baseUrl = options.getBaseUrl();
+            if (baseUrl == null) {
+                context = startApplication(options);
+                baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            }
+            AccountApiClient client = new AccountApiClient(baseUrl,
+                    Duration.ofMillis(options.getTimeoutMs()), executorService);
+
+            LoadTestRunner runner = new LoadTestRunner(options, client);
+            runner.createAccounts();
+            LoadTestReport report = runner.run();
+            report.print(System.out);
+            Path reportFile = report.write();
+            System.out.println();
+            System.out.println("report: " + reportFile.toAbsolutePath());
+        } finally {
+            executorService.shutdownNow();
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.jpa.properties.hibernate.show_sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.h2.console.enabled=false",
+                "--logging.level.root=WARN"
+        ));
+        options.getAppProperties().forEach((key, value) -> args.add("--" + key + "=" + value));
+
+        return new SpringApplicationBuilder(AccountApplication.class)
+                .logStartupInfo(false)
+                .run(args.toArray(new String[0]));
+    }
+
+    // 사용자 당 최대 10개이므로 --users 를 돌아가며 만든다.
+    void createAccounts() {
+        for (int i = 0; i < options.getAccounts(); i++) {
+            long userId = options.getUserIds().get(i % options.getUserIds().size());
+            AccountApiClient.Outcome outcome = client.createAccount(userId, options.getInitialBalance()).join();
+            if (outcome.getType() != AccountApiClient.Outcome.Type.SUCCESS) {
+                throw new IllegalStateException("Failed to create account for user " + userId
+                        + ": " + outcome.getReason());
+            }
+            accounts.add(new Account(userId, outcome.text("accountNumber")));
+        }
+    }
+
+    LoadTestReport run() throws InterruptedException {
+        long startNanos = System.nanoTime();
+        long measureFromNanos = startNanos + TimeUnit.SECONDS.toNanos(options.getWarmupSeconds());
+        long endNanos = measureFromNanos + TimeUnit.SECONDS.toNanos(options.getDurationSeconds());
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / options.getRate();
+
+        // 응답과 상관없이 예정된 시각에 보낸다. 늦어지면 예정 시각을 그대로 두고 바로 보내서
+        // 밀린 시간이 지연시간에 포함되게 한다.
+        double intendedNanos = startNanos;
+        while (intendedNanos < endNanos) {
+            long delay = (long) intendedNanos - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            long intended = (long) intendedNanos;
+            dispatch(nextScenario(), intended, intended >= measureFromNanos);
+            intendedNanos += options.isPoisson()
+                    ? -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos
+                    : meanIntervalNanos;
+        }
+
+        // 보낸 요청의 응답을 기다린다. (타임아웃이 지나면 남은 요청은 포함하지 않는다)
+        long drainDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(options.getTimeoutMs());
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        double measuredSeconds = (endNanos - measureFromNanos) / 1e9;
+        return new LoadTestReport(options, stats.values(), measuredSeconds);
+    }
+
+    private Scenario nextScenario() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < scenarios.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+
+    private void dispatch(Scenario scenario, long intendedNanos, boolean measured) {
+        UsedTransaction target = null;
+        String queryTarget = null;
+        if (scenario == Scenario.CANCEL_BALANCE) {
+            target = cancellable.poll();
+            if (target == null) {
+                scenario = Scenario.USE_BALANCE;
+            } else {
+                cancellableSize.decrementAndGet();
+            }
+        } else if (scenario == Scenario.QUERY_TRANSACTION) {
+            long count = queryableCount.get();
+            if (count > 0) {
+                int index = (int) (ThreadLocalRandom.current().nextLong(Math.min(count, RECENT_TRANSACTIONS)));
+                queryTarget = queryable.get(index);
+            }
+            if (queryTarget == null) {
+                scenario = Scenario.USE_BALANCE;
+            }
+        }
+
+        ScenarioStats scenarioStats = stats.get(scenario);
+        if (inFlight.incrementAndGet() > options.getMaxInFlight()) {
+            inFlight.decrementAndGet();
+            if (measured) {
+                scenarioStats.drop();
+            }
+            return;
+        }
+
+        long sentNanos = System.nanoTime();
+        Account account = nextAccount();
+        CompletableFuture<AccountApiClient.Outcome> response;
+        switch (scenario) {
+            case CREATE_ACCOUNT:
+                response = client.createAccount(account.userId, options.getInitialBalance());
+                break;
+            case CANCEL_BALANCE:
+                response = client.cancelBalance(target.transactionId, target.accountNumber, target.amount);
+                break;
+            case QUERY_TRANSACTION:
+                response = client.queryTransaction(queryTarget);
+                break;
+            default:
+                response = client.useBalance(account.userId, account.accountNumber, options.getAmount());
+        }
+
+        Scenario sent = scenario;
+        response.whenComplete((outcome, throwable) -> {
+            long completedNanos = System.nanoTime();
+            inFlight.decrementAndGet();
+            if (throwable != null) {
+                outcome = AccountApiClient.Outcome.error(throwable.getClass().getSimpleName());
+            }
+            if (sent == Scenario.USE_BALANCE && outcome.getType() == AccountApiClient.Outcome.Type.SUCCESS) {
+                remember(new UsedTransaction(outcome.text("transactionId"),
+                        account.accountNumber, options.getAmount()));
+            }
+            if (measured) {
+                scenarioStats.record(outcome, intendedNanos, sentNanos, completedNanos);
+            }
+        });
+    }
+
+    private Account nextAccount() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (options.getHotRatio() > 0 && random.nextDouble() < options.getHotRatio()) {
+            return accounts.get(0);
+        }
+        return accounts.get(random.nextInt(accounts.size()));
+    }
+
+    private void remember(UsedTransaction usedTransaction) {
+        if (cancellableSize.incrementAndGet() <= RECENT_TRANSACTIONS) {
+            cancellable.offer(usedTransaction);
+        } else {
+            cancellableSize.decrementAndGet();
+        }
+        long index = queryableCount.getAndIncrement();
+        queryable.set((int) (index % RECENT_TRANSACTIONS), usedTransaction.transactionId);
+    }
+
+    private static final class Account {
+        private final long userId;
+        private final String accountNumber;
+
+        private Account(long userId, String accountNumber) {
+            this.userId = userId;
+            this.accountNumber = accountNumber;
+        }
+    }
+
+    private static final class UsedTransaction {
+        private final String transactionId;
+        private final String accountNumber;
+        private final long amount;
+
+        private UsedTransaction(String transactionId, String accountNumber, long amount) {
+            this.transactionId = transactionId;
+            this.accountNumber = accountNumber;
+            this.amount = amount;
+        }
+    }
+}
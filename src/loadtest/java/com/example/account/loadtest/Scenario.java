@@ -0,0 +1,30 @@
+package com.example.account.loadtest;
+
+/**
+ * 부하 테스트 요청 종류. key 는 --mix 옵션에서 사용하는 이름.
+ */
+public enum Scenario {
+    CREATE_ACCOUNT("create"),
+    USE_BALANCE("use"),
+    CANCEL_BALANCE("cancel"),
+    QUERY_TRANSACTION("query");
+
+    private final String key;
+
+    Scenario(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static Scenario fromKey(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equalsIgnoreCase(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + key);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.account.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 종류 별 결과와 지연시간 (마이크로초).
+ * <p>
+ * latency 는 예정된 발송 시각부터 응답까지로, 서버나 클라이언트가 밀려서 늦게 보낸 요청의
+ * 대기 시간까지 포함한다 (coordinated omission 보정). serviceTime 은 실제 발송부터 응답까지.
+ */
+public class ScenarioStats {
+    private final Scenario scenario;
+    private final Histogram latency = new ConcurrentHistogram(3);
+    private final Histogram serviceTime = new ConcurrentHistogram(3);
+    private final LongAdder success = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<String, LongAdder> rejected = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public ScenarioStats(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    public void record(AccountApiClient.Outcome outcome, long intendedNanos, long sentNanos, long completedNanos) {
+        latency.recordValue(toMicros(completedNanos - intendedNanos));
+        serviceTime.recordValue(toMicros(completedNanos - sentNanos));
+        switch (outcome.getType()) {
+            case SUCCESS:
+                success.increment();
+                break;
+            case REJECTED:
+                rejected.computeIfAbsent(outcome.getReason(), reason -> new LongAdder()).increment();
+                break;
+            default:
+                errors.computeIfAbsent(outcome.getReason(), reason -> new LongAdder()).increment();
+        }
+    }
+
+    public void drop() {
+        dropped.increment();
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    public Histogram getServiceTime() {
+        return serviceTime;
+    }
+
+    public long getCompleted() {
+        return latency.getTotalCount();
+    }
+
+    public long getSuccess() {
+        return success.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getRejectedCount() {
+        return sum(rejected);
+    }
+
+    public long getErrorCount() {
+        return sum(errors);
+    }
+
+    public Map<String, Long> getRejected() {
+        return snapshot(rejected);
+    }
+
+    public Map<String, Long> getErrors() {
+        return snapshot(errors);
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    private static long sum(Map<String, LongAdder> counts) {
+        return counts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counts) {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counts.forEach((reason, count) -> snapshot.put(reason, count.sum()));
+        return snapshot;
+    }
+}
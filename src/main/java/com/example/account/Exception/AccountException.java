@@ -3,18 +3,32 @@ package com.example.account.Exception;
 import com.example.account.type.ErrorCode;
 import lombok.*;
 
+import static com.example.account.type.ErrorCode.INTERNAL_SERVER_ERROR;
+
 @Getter
 @Setter
-@AllArgsConstructor
-@NoArgsConstructor
-@Builder
 public class AccountException extends RuntimeException {
     //대부분 런타임 예외를 많이 상속받음
     private ErrorCode errorCode;
     private String errorMessage;
 
+    public AccountException() {
+        this(null, null);
+    }
+
     public AccountException(ErrorCode errorCode) {
+        this(errorCode, errorCode.getDescription());
+    }
+
+    // 잔액 부족, 계좌 사용 중 같은 예상된 거절은 자주 발생하므로 stack trace 를 만들지 않는다.
+    @Builder
+    public AccountException(ErrorCode errorCode, String errorMessage) {
+        super(errorMessage, null, isUnexpected(errorCode), isUnexpected(errorCode));
         this.errorCode = errorCode;
-        this.errorMessage = errorCode.getDescription();
+        this.errorMessage = errorMessage;
+    }
+
+    private static boolean isUnexpected(ErrorCode errorCode) {
+        return errorCode == null || errorCode == INTERNAL_SERVER_ERROR;
     }
 }
@@ -2,48 +2,96 @@ package com.example.account.Exception;
 
 import com.example.account.dto.ErrorResponse;
 import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import jdk.jshell.spi.ExecutionControl;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
 import static com.example.account.type.ErrorCode.INTERNAL_SERVER_ERROR;
 import static com.example.account.type.ErrorCode.INVALID_REQUEST;
 
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    // 예상된 거절(잔액 부족 등)은 코드 별로 이 간격마다 한 줄만 남긴다. (건수는 account.errors 메트릭)
+    @Value("${account.error-log.interval-ms:1000}")
+    private long rejectionLogIntervalMs = 1000;
+
+    private final Map<ErrorCode, RejectionLog> rejectionLogs = new EnumMap<>(ErrorCode.class);
+    private final Map<ErrorCode, Counter> errorCounters = new EnumMap<>(ErrorCode.class);
+
+    public GlobalExceptionHandler() {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            rejectionLogs.put(errorCode, new RejectionLog());
+            errorCounters.put(errorCode,
+                    Metrics.counter("account.errors", "error_code", errorCode.name()));
+        }
+    }
 
     @ExceptionHandler(AccountException.class)
     public ErrorResponse handleAccountException(AccountException e) {
-        log.error("{} is occurred",e.getErrorCode());
+        if (e.getErrorCode() == null || e.getErrorCode() == INTERNAL_SERVER_ERROR) {
+            log.error("{} is occurred", e.getErrorCode(), e);
+        } else {
+            logRejection(e.getErrorCode());
+        }
+        countError(e.getErrorCode());
 
-        return new ErrorResponse(e.getErrorCode(), e.getErrorMessage());
+        return ErrorResponse.of(e.getErrorCode(), e.getErrorMessage());
     }
 
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ErrorResponse handleDataIntegrityViolationException(DataIntegrityViolationException e) {
         log.error("DataIntegrityViolationException is occurred", e);
+        countError(INVALID_REQUEST);
 
-        return new ErrorResponse(INVALID_REQUEST, INVALID_REQUEST.getDescription());
+        return ErrorResponse.of(INVALID_REQUEST);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ErrorResponse handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
         log.error("MethodArgumentNotValidException is occurred", e);
+        countError(INVALID_REQUEST);
 
-        return new ErrorResponse(INVALID_REQUEST, INVALID_REQUEST.getDescription());
+        return ErrorResponse.of(INVALID_REQUEST);
     }
 
     @ExceptionHandler(Exception.class)
     public ErrorResponse handleException(Exception e) {
         log.error("Exception is occurred",e);
+        countError(INTERNAL_SERVER_ERROR);
+
+        return ErrorResponse.of(INTERNAL_SERVER_ERROR);
+    }
+
+    private void logRejection(ErrorCode errorCode) {
+        RejectionLog rejectionLog = rejectionLogs.get(errorCode);
+        long now = System.currentTimeMillis();
+        long nextLogAt = rejectionLog.nextLogAt.get();
+        if (now < nextLogAt
+                || !rejectionLog.nextLogAt.compareAndSet(nextLogAt, now + rejectionLogIntervalMs)) {
+            rejectionLog.suppressed.increment();
+            return;
+        }
+        log.warn("{} is occurred ({} suppressed)", errorCode, rejectionLog.suppressed.sumThenReset());
+    }
+
+    private void countError(ErrorCode errorCode) {
+        errorCounters.get(errorCode == null ? INTERNAL_SERVER_ERROR : errorCode).increment();
+    }
 
-        return new ErrorResponse(
-                INTERNAL_SERVER_ERROR,
-                INTERNAL_SERVER_ERROR.getDescription()
-        );
+    private static final class RejectionLog {
+        private final AtomicLong nextLogAt = new AtomicLong();
+        private final LongAdder suppressed = new LongAdder();
     }
 }
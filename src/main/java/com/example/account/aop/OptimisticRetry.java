@@ -0,0 +1,14 @@
+package com.example.account.aop;
+
+import java.lang.annotation.*;
+
+/**
+ * 낙관적 락(@Version) 충돌 시 트랜잭션을 새로 시작해서 다시 시도한다.
+ * 트랜잭션보다 바깥에서 실행되어야 하므로 @Transactional 메서드에 붙인다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface OptimisticRetry {
+}
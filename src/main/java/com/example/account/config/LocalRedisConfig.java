@@ -29,6 +29,7 @@ public class LocalRedisConfig {
         } else {
             redisServer = new RedisServer(redisPort); // x86_64는 기본 내장 바이너리 사용
         }
+        redisServer.start();
     }
 
     @PreDestroy
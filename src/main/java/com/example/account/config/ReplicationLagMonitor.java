@@ -0,0 +1,88 @@
+package com.example.account.config;
+
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * primary 에 주기적으로 heartbeat 시각을 쓰고 replica 에 복제된 시각과 비교해서 지연을 잰다.
+ * 지연이 maxLagMs 를 넘거나 replica 를 읽을 수 없으면 replica 를 쓰지 않는다.
+ * (측정값에는 heartbeat 주기만큼의 오차가 있으므로 maxLagMs 는 checkIntervalMs 보다 크게 설정)
+ */
+@Slf4j
+public class ReplicationLagMonitor {
+    private static final String CREATE_HEARTBEAT =
+            "create table if not exists replication_heartbeat (id int primary key, beat_at timestamp not null)";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMs;
+    private final long checkIntervalMs;
+
+    private volatile boolean replicaAvailable;
+    private volatile long lagMs = -1;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicationLagMonitor(DataSource primary, DataSource replica,
+                                 long maxLagMs, long checkIntervalMs) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMs = maxLagMs;
+        this.checkIntervalMs = checkIntervalMs;
+    }
+
+    public void start() {
+        primary.execute(CREATE_HEARTBEAT);
+        check();
+        Metrics.gauge("account.datasource.replica.lag", this, ReplicationLagMonitor::getLagMs);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replication-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    // 측정하지 못했으면 -1
+    public long getLagMs() {
+        return lagMs;
+    }
+
+    void check() {
+        try {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            if (primary.update("update replication_heartbeat set beat_at = ? where id = 1", now) == 0) {
+                primary.update("insert into replication_heartbeat (id, beat_at) values (1, ?)", now);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to write replication heartbeat: {}", e.getMessage());
+        }
+
+        try {
+            Timestamp beatAt = replica.queryForObject(
+                    "select beat_at from replication_heartbeat where id = 1", Timestamp.class);
+            lagMs = Math.max(0L, System.currentTimeMillis() - beatAt.getTime());
+            replicaAvailable = lagMs <= maxLagMs;
+        } catch (RuntimeException e) {
+            log.warn("Replica is not available: {}", e.getMessage());
+            lagMs = -1;
+            replicaAvailable = false;
+        }
+    }
+}
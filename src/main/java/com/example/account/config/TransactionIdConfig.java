@@ -0,0 +1,36 @@
+package com.example.account.config;
+
+import com.example.account.service.SnowflakeTransactionIdGenerator;
+import com.example.account.service.TransactionIdGenerator;
+import com.example.account.service.UuidTransactionIdGenerator;
+import com.example.account.type.TransactionIdType;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TransactionIdConfig {
+    @Value("${account.transaction-id.type:SNOWFLAKE}")
+    private TransactionIdType transactionIdType;
+
+    // -1 이면 Redis 에서 비어 있는 노드 ID 를 받는다.
+    @Value("${account.transaction-id.node-id:-1}")
+    private long nodeId;
+
+    @Value("${account.transaction-id.node-lease-seconds:30}")
+    private long nodeLeaseSeconds;
+
+    @Bean(destroyMethod = "stop")
+    public TransactionIdNodeRegistry transactionIdNodeRegistry(RedissonClient redissonClient) {
+        return new TransactionIdNodeRegistry(redissonClient, nodeLeaseSeconds);
+    }
+
+    @Bean
+    public TransactionIdGenerator transactionIdGenerator(TransactionIdNodeRegistry transactionIdNodeRegistry) {
+        if (transactionIdType == TransactionIdType.UUID) {
+            return new UuidTransactionIdGenerator();
+        }
+        return new SnowflakeTransactionIdGenerator(transactionIdNodeRegistry.claim(nodeId));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.account.config;
+
+import com.example.account.service.SnowflakeTransactionIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snowflake 거래 ID 의 노드 ID 를 Redis 에 lease 로 선점해서 서버끼리 겹치지 않게 한다.
+ * 노드 ID 를 직접 설정했으면 그 ID 를, 설정하지 않았으면(-1) 비어 있는 ID 를 찾아서 선점하고
+ * 이미 다른 서버가 쓰고 있는 ID 라면 시작하지 않는다.
+ * lease 는 leaseSeconds / 3 마다 연장하고 종료할 때 반납한다.
+ */
+@Slf4j
+public class TransactionIdNodeRegistry {
+    private static final String NODE_KEY_PREFIX = "TXID:NODE:";
+    private static final String NODE_SEQUENCE_KEY = "TXID:NODE:SEQ";
+    private static final long NODE_COUNT = SnowflakeTransactionIdGenerator.MAX_NODE_ID + 1;
+
+    private final RedissonClient redissonClient;
+    private final long leaseSeconds;
+    // 같은 서버가 선점한 lease 인지 구분
+    private final String owner = UUID.randomUUID().toString();
+
+    private volatile long nodeId = -1;
+    private ScheduledExecutorService scheduler;
+
+    public TransactionIdNodeRegistry(RedissonClient redissonClient, long leaseSeconds) {
+        this.redissonClient = redissonClient;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    /**
+     * @param requestedNodeId 설정한 노드 ID, 음수면 비어 있는 ID 를 받는다.
+     * @return 선점한 노드 ID
+     */
+    public synchronized long claim(long requestedNodeId) {
+        if (nodeId >= 0) {
+            throw new IllegalStateException("Transaction id node already claimed: " + nodeId);
+        }
+        if (requestedNodeId >= 0) {
+            if (requestedNodeId >= NODE_COUNT || !tryClaim(requestedNodeId)) {
+                throw new IllegalStateException(
+                        "Transaction id node is already in use or out of range: " + requestedNodeId);
+            }
+        } else {
+            // 서버마다 다른 위치부터 찾아서 동시에 시작해도 같은 ID 를 두고 경합하지 않도록
+            long start = redissonClient.getAtomicLong(NODE_SEQUENCE_KEY).getAndIncrement();
+            for (long i = 0; i < NODE_COUNT && nodeId < 0; i++) {
+                tryClaim(Math.floorMod(start + i, NODE_COUNT));
+            }
+            if (nodeId < 0) {
+                throw new IllegalStateException("No transaction id node available");
+            }
+        }
+        log.info("Claimed transaction id node: {}", nodeId);
+        startHeartbeat();
+        return nodeId;
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (nodeId >= 0 && owner.equals(bucket(nodeId).get())) {
+            bucket(nodeId).delete();
+        }
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    private boolean tryClaim(long candidate) {
+        if (bucket(candidate).trySet(owner, leaseSeconds, TimeUnit.SECONDS)) {
+            nodeId = candidate;
+            return true;
+        }
+        return false;
+    }
+
+    private void startHeartbeat() {
+        long intervalMs = TimeUnit.SECONDS.toMillis(leaseSeconds) / 3;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transaction-id-node-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::renew, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    void renew() {
+        try {
+            RBucket<String> bucket = bucket(nodeId);
+            String current = bucket.get();
+            if (owner.equals(current)) {
+                bucket.expire(leaseSeconds, TimeUnit.SECONDS);
+            } else if (current == null && bucket.trySet(owner, leaseSeconds, TimeUnit.SECONDS)) {
+                // Redis 장애 등으로 lease 가 만료됐지만 아직 아무도 가져가지 않음
+                log.warn("Transaction id node lease expired and was reclaimed: {}", nodeId);
+            } else {
+                log.error("Transaction id node {} is claimed by another server, ids may collide", nodeId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to renew transaction id node lease: {}", e.getMessage());
+        }
+    }
+
+    private RBucket<String> bucket(long node) {
+        return redissonClient.getBucket(NODE_KEY_PREFIX + node, StringCodec.INSTANCE);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.account.controller;
+
+import com.example.account.dto.CacheStats;
+import com.example.account.dto.FaultRule;
+import com.example.account.service.AccountCache;
+import com.example.account.service.AccountSlotService;
+import com.example.account.service.FaultInjector;
+import com.example.account.type.FaultPoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class AdminController {
+    private final AccountCache accountCache;
+    private final AccountSlotService accountSlotService;
+    private final FaultInjector faultInjector;
+
+    @GetMapping("/admin/cache/account")
+    public CacheStats getAccountCacheStats() {
+        return accountCache.stats();
+    }
+
+    /**
+     * 거래가 몰리는 계좌의 잔액을 slot_count 개의 슬롯으로 나눈다.
+     */
+    @PostMapping("/admin/account/{accountNumber}/slots")
+    public void splitAccount(
+            @PathVariable String accountNumber,
+            @RequestParam("slot_count") int slotCount
+    ) {
+        accountSlotService.split(accountNumber, slotCount);
+    }
+
+    @GetMapping("/admin/faults")
+    public Map<FaultPoint, FaultRule> getFaultRules() {
+        return faultInjector.getRules();
+    }
+
+    /**
+     * 지연 / 에러 주입 규칙 설정 (account.fault.enabled=true 일 때만)
+     */
+    @PutMapping("/admin/faults/{point}")
+    public void setFaultRule(
+            @PathVariable FaultPoint point,
+            @RequestBody @Valid FaultRule rule
+    ) {
+        faultInjector.setRule(point, rule);
+    }
+
+    @DeleteMapping("/admin/faults/{point}")
+    public void clearFaultRule(@PathVariable FaultPoint point) {
+        faultInjector.clearRule(point);
+    }
+
+    @DeleteMapping("/admin/faults")
+    public void clearFaultRules() {
+        faultInjector.clearRules();
+    }
+}
@@ -2,36 +2,73 @@ package com.example.account.controller;
 
 import com.example.account.Exception.AccountException;
 import com.example.account.aop.AccountLock;
+import com.example.account.aop.Idempotent;
 import com.example.account.dto.QueryTransactionResponse;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionCursor;
+import com.example.account.dto.TransactionHistoryResponse;
 import com.example.account.dto.UseBalance;
 import com.example.account.dto.CancelBalance;
+import com.example.account.dto.UseBalanceBatch;
+import com.example.account.service.AccountSerialExecutor;
+import com.example.account.service.AccountSlotService;
+import com.example.account.service.FailedTransactionRecorder;
+import com.example.account.service.FaultInjector;
+import com.example.account.service.TransactionBatchService;
+import com.example.account.service.TransactionExportService;
 import com.example.account.service.TransactionService;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.ExportFormat;
+import com.example.account.type.FaultPoint;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
 
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class TransactionController {
     private final TransactionService transactionService;
+    private final TransactionBatchService transactionBatchService;
+    private final FailedTransactionRecorder failedTransactionRecorder;
+    private final TransactionExportService transactionExportService;
+    private final AccountSerialExecutor accountSerialExecutor;
+    private final AccountSlotService accountSlotService;
+    private final FaultInjector faultInjector;
 
     @PostMapping("/use_balance")
+    @Idempotent
     @AccountLock
     public UseBalance.Response useBalance(
             @RequestBody @Valid UseBalance.Request request
-    ) throws InterruptedException {
-        Thread.sleep(2000);
+    ) {
+        faultInjector.inject(FaultPoint.INSIDE_LOCK);
+        Supplier<TransactionDto> useSlotBalance = () -> accountSlotService.useBalance(
+                request.getUserId(), request.getAccountNumber(), request.getAmount());
+        if (accountSerialExecutor.isEnabled() && !accountSlotService.isSharded(request.getAccountNumber())) {
+            // 실패 거래는 실행 큐에서 묶음 처리할 때 함께 기록된다.
+            return UseBalance.Response.from(routeSharded(request.getAccountNumber(),
+                    () -> accountSerialExecutor.useBalance(request), useSlotBalance));
+        }
         try {
-            return UseBalance.Response.from(
-                    transactionService.useBalance(request.getUserId(),
-                            request.getAccountNumber(), request.getAmount())
-            );
+            return UseBalance.Response.from(routeSharded(request.getAccountNumber(),
+                    () -> transactionService.useBalance(request.getUserId(),
+                            request.getAccountNumber(), request.getAmount()),
+                    useSlotBalance));
         } catch (AccountException e) {
             log.error("Failed to use balance");
-            transactionService.saveFailedUseTransaction(
+            failedTransactionRecorder.recordUseFailure(
                     request.getAccountNumber(),
                     request.getAmount()
             );
@@ -39,21 +76,35 @@ public class TransactionController {
         }
     }
 
+    @PostMapping("/use_balance/batch")
+    public UseBalanceBatch.Response useBalanceBatch(
+            @RequestBody @Valid UseBalanceBatch.Request request
+    ) {
+        return UseBalanceBatch.Response.from(request.getItems(),
+                transactionBatchService.useBalanceBatch(request.getItems()));
+    }
+
     @PostMapping("/cancel_balance")
+    @Idempotent
     @AccountLock
     public CancelBalance.Response response (
             @RequestBody @Valid CancelBalance.Request request
-    ) throws InterruptedException {
-        Thread.sleep(2000);
+    ) {
+        faultInjector.inject(FaultPoint.INSIDE_LOCK);
         try {
-            return CancelBalance.Response.from(
-                    transactionService.cancelBalance(request.getTransactionId(),
-                            request.getAccountNumber(), request.getAmount()
-                    )
-            );
+            TransactionDto transactionDto = routeSharded(request.getAccountNumber(),
+                    () -> accountSerialExecutor.isEnabled()
+                            ? accountSerialExecutor.execute(request.getAccountNumber(),
+                                    () -> transactionService.cancelBalance(request.getTransactionId(),
+                                            request.getAccountNumber(), request.getAmount()))
+                            : transactionService.cancelBalance(request.getTransactionId(),
+                                    request.getAccountNumber(), request.getAmount()),
+                    () -> accountSlotService.cancelBalance(request.getTransactionId(),
+                            request.getAccountNumber(), request.getAmount()));
+            return CancelBalance.Response.from(transactionDto);
         } catch (AccountException e) {
             log.error("Failed to cancel balance");
-            transactionService.saveFailedCancelTransaction(
+            failedTransactionRecorder.recordCancelFailure(
                     request.getAccountNumber(),
                     request.getAmount()
             );
@@ -61,6 +112,26 @@ public class TransactionController {
         }
     }
 
+    /**
+     * 분할 계좌는 슬롯으로 처리한다. 서버의 분할 정보가 늦어서 DB 에서 ACCOUNT_SHARDED 로
+     * 거절되면 분할 정보를 다시 읽고 슬롯으로 한 번 더 보낸다.
+     */
+    private TransactionDto routeSharded(String accountNumber,
+                                        Supplier<TransactionDto> unsharded,
+                                        Supplier<TransactionDto> sharded) {
+        if (accountSlotService.isSharded(accountNumber)) {
+            return sharded.get();
+        }
+        try {
+            return unsharded.get();
+        } catch (AccountException e) {
+            if (e.getErrorCode() != ErrorCode.ACCOUNT_SHARDED || !accountSlotService.reload(accountNumber)) {
+                throw e;
+            }
+            return sharded.get();
+        }
+    }
+
     @GetMapping("/transaction/{transactionId}")
     public QueryTransactionResponse queryTransactionResponse (
             @PathVariable String transactionId
@@ -69,4 +140,49 @@ public class TransactionController {
                 transactionService.queryTransaction(transactionId)
         );
     }
+
+    @GetMapping("/account/{accountNumber}/transactions")
+    public TransactionHistoryResponse getTransactionHistory(
+            @PathVariable String accountNumber,
+            @RequestParam(value = "transaction_type", required = false) TransactionType transactionType,
+            @RequestParam(value = "transaction_result_type", required = false) TransactionResultType transactionResultType,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        if (size < 1 || size > 100) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+
+        // 다음 페이지가 있는지 알기 위해 한 건 더 조회
+        return TransactionHistoryResponse.from(accountNumber,
+                transactionService.getTransactionHistory(accountNumber,
+                        transactionType, transactionResultType,
+                        TransactionCursor.decode(cursor), size + 1),
+                size);
+    }
+
+    /**
+     * 기간 내 거래 내역을 NDJSON/CSV 로 스트리밍 (from 포함, to 미포함)
+     */
+    @GetMapping("/account/{accountNumber}/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @PathVariable String accountNumber,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format
+    ) {
+        if (!from.isBefore(to)) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+        // 스트리밍을 시작하기 전에 계좌를 확인해서 오류는 일반 응답으로 돌려준다.
+        Long accountId = transactionExportService.getAccountId(accountNumber);
+
+        StreamingResponseBody body = out ->
+                transactionExportService.export(accountId, from, to, format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\""
+                        + accountNumber + "." + format.getExtension() + "\"")
+                .body(body);
+    }
 }
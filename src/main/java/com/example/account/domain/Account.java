@@ -4,6 +4,8 @@ import com.example.account.Exception.AccountException;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
 import lombok.*;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -21,10 +23,19 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_account_account_user", columnList = "account_user_id")
+}, uniqueConstraints = {
+        // columnNames 는 물리 컬럼명이 아닌 논리 이름(필드명)으로 찾는다.
+        @UniqueConstraint(name = "uk_account_account_number", columnNames = "accountNumber")
+})
+// 잔액이 자주 바뀌는 계좌 자체는 캐시하지 않고 계좌번호 -> id 매핑만 캐시
+@NaturalIdCache
 public class Account extends BaseEntity {
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private AccountUser accountUser;
 
+    @NaturalId
     @Size(min = 10, max = 10)
     private String accountNumber;
 
@@ -35,6 +46,13 @@ public class Account extends BaseEntity {
     @Max(1000_000_000)
     private Long balance;
 
+    // 잔액 변경 충돌 감지용 (account.lock.mode=OPTIMISTIC)
+    @Version
+    private Long version;
+
+    // 0 보다 크면 잔액을 AccountSlot 으로 나눈 분할 계좌 (balance 는 0, 잔액은 슬롯 합계)
+    private Integer slotCount;
+
     private LocalDateTime registeredAt;
     private LocalDateTime unRegisteredAt;
 
@@ -51,4 +69,8 @@ public class Account extends BaseEntity {
         }
         balance += amount;
     }
+
+    public boolean isSharded() {
+        return slotCount != null && slotCount > 0;
+    }
 }
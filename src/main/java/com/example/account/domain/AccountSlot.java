@@ -0,0 +1,46 @@
+package com.example.account.domain;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.type.ErrorCode;
+import lombok.*;
+
+import javax.persistence.*;
+
+/**
+ * 분할 계좌(Account.slotCount > 0)의 잔액 슬롯.
+ * 슬롯마다 락(ACLK:계좌번호:슬롯번호)과 row 가 따로 있어서 같은 계좌의 거래를 동시에 처리할 수 있다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(indexes = {
+        @Index(name = "uk_account_slot_account_slot_index", columnList = "account_id, slotIndex", unique = true)
+})
+public class AccountSlot extends BaseEntity {
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Account account;
+
+    private Integer slotIndex;
+
+    private Long balance;
+
+    @Version
+    private Long version;
+
+    public void useBalance(Long amount) {
+        if (amount > balance) {
+            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        }
+        balance -= amount;
+    }
+
+    public void cancelBalance(Long amount) {
+        if (amount < 0) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+        balance += amount;
+    }
+}
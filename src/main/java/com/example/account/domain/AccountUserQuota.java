@@ -0,0 +1,26 @@
+package com.example.account.domain;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * 사용자 별 사용 중인 계좌 수 (계좌 생성 제한용).
+ * AccountUser 는 2차 캐시 대상이라 bulk update 를 하면 캐시 영역 전체가 지워지므로
+ * 캐시하지 않는 별도 테이블에 두고 AccountUserQuotaRepository 의 조건부 update 로만 바꾼다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+public class AccountUserQuota {
+    @Id
+    private Long accountUserId;
+
+    @Column(nullable = false)
+    private Integer accountCount;
+}
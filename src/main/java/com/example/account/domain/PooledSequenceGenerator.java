@@ -0,0 +1,31 @@
+package com.example.account.domain;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * 시퀀스 값 하나로 increment_size 개의 id 를 쓰는 pooled-lo 시퀀스.
+ * 시퀀스 값이 블록의 시작이므로 JDBC 로 직접 next value 를 가져다 쓰는 insert 와도 겹치지 않는다.
+ * 블록 크기는 spring.jpa.properties.account.id.increment_size 로 설정한다.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+    public static final String INCREMENT_SIZE_SETTING = "account.id.increment_size";
+    private static final int DEFAULT_INCREMENT_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry)
+            throws MappingException {
+        int incrementSize = ConfigurationHelper.getInt(INCREMENT_SIZE_SETTING,
+                serviceRegistry.getService(ConfigurationService.class).getSettings(),
+                DEFAULT_INCREMENT_SIZE);
+        params.setProperty(INCREMENT_PARAM, String.valueOf(incrementSize));
+        params.setProperty(OPT_PARAM, "pooled-lo");
+        super.configure(type, params, serviceRegistry);
+    }
+}
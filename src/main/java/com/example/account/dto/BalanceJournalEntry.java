@@ -0,0 +1,37 @@
+package com.example.account.dto;
+
+import com.example.account.type.TransactionType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Redis 잔액 엔진이 잔액을 바꿀 때마다 저널(Redis list)에 남기는 기록.
+ * Lua 스크립트가 "type|accountNumber|amount|balanceAfter|transactionId|transactedAt|userId" 로 쓴다.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+@ToString
+public class BalanceJournalEntry {
+    private TransactionType transactionType;
+    private String accountNumber;
+    private Long amount;
+    private Long balanceAfter;
+    private String transactionId;
+    private LocalDateTime transactedAt;
+    private Long userId;
+
+    public static BalanceJournalEntry parse(String line) {
+        String[] fields = line.split("\\|");
+        return BalanceJournalEntry.builder()
+                .transactionType(TransactionType.valueOf(fields[0]))
+                .accountNumber(fields[1])
+                .amount(Long.parseLong(fields[2]))
+                .balanceAfter(Long.parseLong(fields[3]))
+                .transactionId(fields[4])
+                .transactedAt(LocalDateTime.parse(fields[5]))
+                .userId(Long.parseLong(fields[6]))
+                .build();
+    }
+}
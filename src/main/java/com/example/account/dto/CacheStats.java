@@ -0,0 +1,30 @@
+package com.example.account.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CacheStats {
+    private int size;
+    private int maxSize;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private double hitRatio;
+
+    public static CacheStats of(int size, int maxSize,
+                                long hitCount, long missCount, long evictionCount) {
+        long requestCount = hitCount + missCount;
+        return CacheStats.builder()
+                .size(size)
+                .maxSize(maxSize)
+                .hitCount(hitCount)
+                .missCount(missCount)
+                .evictionCount(evictionCount)
+                .hitRatio(requestCount == 0 ? 0.0 : (double) hitCount / requestCount)
+                .build();
+    }
+}
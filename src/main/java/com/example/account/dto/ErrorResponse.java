@@ -3,14 +3,40 @@ package com.example.account.dto;
 import com.example.account.type.ErrorCode;
 import lombok.*;
 
-import javax.lang.model.type.ErrorType;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
 
+/**
+ * 에러 응답. 코드 별 기본 응답은 미리 만들어 두고 공유하므로 setter 를 두지 않는다.
+ */
 @Getter
-@Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class ErrorResponse {
+    private static final Map<ErrorCode, ErrorResponse> RESPONSES = prebuild();
+
     private ErrorCode errorCode;
     private String ErrorMessage;
+
+    public static ErrorResponse of(ErrorCode errorCode) {
+        return RESPONSES.get(errorCode);
+    }
+
+    public static ErrorResponse of(ErrorCode errorCode, String errorMessage) {
+        if (errorCode != null && Objects.equals(errorCode.getDescription(), errorMessage)) {
+            return of(errorCode);
+        }
+        return new ErrorResponse(errorCode, errorMessage);
+    }
+
+    private static Map<ErrorCode, ErrorResponse> prebuild() {
+        Map<ErrorCode, ErrorResponse> responses = new EnumMap<>(ErrorCode.class);
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            responses.put(errorCode, new ErrorResponse(errorCode, errorCode.getDescription()));
+        }
+        return Collections.unmodifiableMap(responses);
+    }
 }
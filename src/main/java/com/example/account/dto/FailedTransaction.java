@@ -0,0 +1,22 @@
+package com.example.account.dto;
+
+import com.example.account.type.TransactionType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 비동기로 기록할 실패 거래.
+ * 잔액 스냅샷은 실제로 DB 에 쓰는 시점의 잔액을 사용한다.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+@ToString
+public class FailedTransaction {
+    private TransactionType transactionType;
+    private String accountNumber;
+    private Long amount;
+    private String transactionId;
+    private LocalDateTime transactedAt;
+}
@@ -0,0 +1,37 @@
+package com.example.account.dto;
+
+import com.example.account.type.ErrorCode;
+import com.example.account.type.LatencyDistribution;
+import lombok.*;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 한 지점에 주입할 지연과 에러.
+ * 지연을 먼저 주고 errorRate 비율로 errorCode 의 AccountException 을 던진다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FaultRule {
+    @NotNull
+    private LatencyDistribution latency;
+
+    @Min(0)
+    private long latencyMs;
+
+    @Min(0)
+    private long maxLatencyMs;
+
+    @DecimalMin("0")
+    @DecimalMax("1")
+    private double errorRate;
+
+    // 없으면 INTERNAL_SERVER_ERROR
+    private ErrorCode errorCode;
+}
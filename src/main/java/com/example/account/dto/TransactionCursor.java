@@ -0,0 +1,51 @@
+package com.example.account.dto;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.type.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 거래 내역 keyset 페이징 위치 (transactedAt, id).
+ * 이 위치보다 이전 거래부터 조회한다.
+ */
+@Getter
+@AllArgsConstructor
+public class TransactionCursor {
+    // 첫 페이지: 모든 거래보다 뒤
+    public static final TransactionCursor FIRST = new TransactionCursor(
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime transactedAt;
+    private final Long id;
+
+    public static TransactionCursor after(TransactionHistoryItem item) {
+        return new TransactionCursor(item.getTransactedAt(), item.getId());
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return FIRST;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new TransactionCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (transactedAt.toString() + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
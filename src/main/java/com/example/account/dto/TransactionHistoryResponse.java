@@ -0,0 +1,35 @@
+package com.example.account.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TransactionHistoryResponse {
+    private String accountNumber;
+    private List<TransactionHistoryItem> transactions;
+    // 다음 페이지가 없으면 null
+    private String nextCursor;
+
+    /**
+     * @param items 다음 페이지 존재 여부 확인을 위해 size + 1 건까지 조회한 결과
+     */
+    public static TransactionHistoryResponse from(String accountNumber,
+                                                  List<TransactionHistoryItem> items,
+                                                  int size) {
+        boolean hasNext = items.size() > size;
+        List<TransactionHistoryItem> page = hasNext ? items.subList(0, size) : items;
+
+        return TransactionHistoryResponse.builder()
+                .accountNumber(accountNumber)
+                .transactions(page)
+                .nextCursor(hasNext
+                        ? TransactionCursor.after(page.get(size - 1)).encode()
+                        : null)
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.account.dto;
+
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import lombok.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class UseBalanceBatch {
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Request {
+
+        @NotEmpty
+        @Size(max = 1000)
+        @Valid
+        private List<UseBalance.Request> items;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Response {
+        private List<Item> items;
+
+        public static Response from(List<UseBalance.Request> requests, List<Result> results) {
+            List<Item> items = new ArrayList<>(results.size());
+            for (int i = 0; i < results.size(); i++) {
+                items.add(Item.from(requests.get(i), results.get(i)));
+            }
+            return new Response(items);
+        }
+    }
+
+    /**
+     * 배치 요청 항목 별 응답. 실패한 항목은 errorCode 가 채워진다.
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Item {
+        private String accountNumber;
+        private TransactionResultType transactionResultType;
+        private String transactionId;
+        private Long amount;
+        private LocalDateTime transactedAt;
+        private ErrorCode errorCode;
+        private String errorMessage;
+
+        public static Item from(UseBalance.Request request, Result result) {
+            if (result.isSuccess()) {
+                TransactionDto transactionDto = result.getTransaction();
+                return Item.builder()
+                        .accountNumber(transactionDto.getAccountNumber())
+                        .transactionResultType(transactionDto.getTransactionResultType())
+                        .transactionId(transactionDto.getTransactionId())
+                        .amount(transactionDto.getAmount())
+                        .transactedAt(transactionDto.getTransactedAt())
+                        .build();
+            }
+            return Item.builder()
+                    .accountNumber(request.getAccountNumber())
+                    .transactionResultType(TransactionResultType.FAILED)
+                    .amount(request.getAmount())
+                    .errorCode(result.getErrorCode())
+                    .errorMessage(result.getErrorCode().getDescription())
+                    .build();
+        }
+    }
+
+    /**
+     * 서비스 계층에서 넘겨주는 항목 별 처리 결과.
+     */
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Result {
+        private final TransactionDto transaction;
+        private final ErrorCode errorCode;
+
+        public static Result success(TransactionDto transaction) {
+            return new Result(transaction, null);
+        }
+
+        public static Result failure(ErrorCode errorCode) {
+            return new Result(null, errorCode);
+        }
+
+        public boolean isSuccess() {
+            return errorCode == null;
+        }
+    }
+}
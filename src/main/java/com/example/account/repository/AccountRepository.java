@@ -2,17 +2,48 @@ package com.example.account.repository;
 
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
+import com.example.account.dto.AccountDto;
+import com.example.account.type.AccountStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Long> {
-    Optional<Account> findFirstByOrderByIdDesc();
+public interface AccountRepository extends JpaRepository<Account, Long>, AccountRepositoryCustom {
+    @Query("select max(a.accountNumber) from Account a")
+    Optional<String> findMaxAccountNumber();
 
-    Optional<Account> findByAccountNumber(String accountNumber);
     Integer countByAccountUser(AccountUser accountUser);
+    int countByAccountUserAndAccountStatus(AccountUser accountUser, AccountStatus accountStatus);
     List<Account> findAllByAccountUser(AccountUser accountUser);
+
+    @Query("select a from Account a join fetch a.accountUser where a.id = :id")
+    Optional<Account> findWithAccountUserById(@Param("id") Long id);
+
+    /**
+     * 사용자의 계좌 목록 (분할 계좌의 잔액은 슬롯 합계)
+     */
+    @Query("select new com.example.account.dto.AccountDto(" +
+            "a.accountUser.id, a.accountNumber, a.balance + coalesce(sum(s.balance), 0), " +
+            "a.registeredAt, a.unRegisteredAt) " +
+            "from Account a left join AccountSlot s on s.account = a " +
+            "where a.accountUser.id = :accountUserId " +
+            "group by a.id, a.accountUser.id, a.accountNumber, a.balance, a.registeredAt, a.unRegisteredAt " +
+            "order by a.id")
+    List<AccountDto> findAccountDtosByAccountUserId(@Param("accountUserId") Long accountUserId);
+
+    List<Account> findAllBySlotCountGreaterThan(Integer slotCount);
+
+    /**
+     * 잔액을 슬롯으로 옮긴 뒤 계좌 잔액을 0 으로 (@Min 검증을 거치지 않도록 bulk update)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balance = 0, a.slotCount = :slotCount, a.version = a.version + 1 " +
+            "where a.id = :id")
+    int updateSharded(@Param("id") Long id, @Param("slotCount") Integer slotCount);
 }
@@ -0,0 +1,11 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+
+import java.util.Optional;
+
+public interface AccountRepositoryCustom {
+    Optional<Account> findByAccountNumber(String accountNumber);
+
+    void refresh(Account account);
+}
@@ -0,0 +1,38 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Optional;
+
+public class AccountRepositoryCustomImpl implements AccountRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 계좌번호(@NaturalId)로 조회.
+     * 계좌번호 -> id 매핑은 natural-id 캐시에서 찾고, 계좌는 PK 로 읽는다.
+     * 트랜잭션 밖에서 단독으로 호출하면 잔액을 읽어서 쓰는 곳(Redis 잔액 적재 등)이 있으므로
+     * replica 가 아닌 primary 에서 읽는다.
+     */
+    @Override
+    @Transactional
+    public Optional<Account> findByAccountNumber(String accountNumber) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Account.class)
+                .loadOptional(accountNumber);
+    }
+
+    /**
+     * 영속성 컨텍스트에 있는 계좌를 DB 의 현재 값으로 다시 읽는다.
+     * (JDBC 로 직접 변경한 잔액을 엔티티에 반영할 때)
+     */
+    @Override
+    @Transactional
+    public void refresh(Account account) {
+        entityManager.refresh(account);
+    }
+}
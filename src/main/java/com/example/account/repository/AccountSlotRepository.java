@@ -0,0 +1,21 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountSlotRepository extends JpaRepository<AccountSlot, Long> {
+    Optional<AccountSlot> findByAccountAndSlotIndex(Account account, Integer slotIndex);
+
+    List<AccountSlot> findAllByAccountOrderBySlotIndex(Account account);
+
+    @Query("select coalesce(sum(s.balance), 0) from AccountSlot s where s.account = :account")
+    Long sumBalance(@Param("account") Account account);
+}
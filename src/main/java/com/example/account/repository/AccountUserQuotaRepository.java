@@ -0,0 +1,26 @@
+package com.example.account.repository;
+
+import com.example.account.domain.AccountUserQuota;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountUserQuotaRepository extends JpaRepository<AccountUserQuota, Long> {
+    /**
+     * 계좌 수가 maxAccountCount 보다 적을 때만 1 증가 (0 이면 최대 계좌 수 초과 또는 아직 row 가 없음).
+     * row 의 락은 트랜잭션이 끝날 때까지 유지되므로 같은 사용자의 계좌 생성은 순서대로 처리된다.
+     */
+    @Modifying
+    @Query("update AccountUserQuota q set q.accountCount = q.accountCount + 1 " +
+            "where q.accountUserId = :accountUserId and q.accountCount < :maxAccountCount")
+    int incrementAccountCount(@Param("accountUserId") Long accountUserId,
+                              @Param("maxAccountCount") int maxAccountCount);
+
+    @Modifying
+    @Query("update AccountUserQuota q set q.accountCount = q.accountCount - 1 " +
+            "where q.accountUserId = :accountUserId and q.accountCount > 0")
+    int decrementAccountCount(@Param("accountUserId") Long accountUserId);
+}
@@ -0,0 +1,182 @@
+package com.example.account.repository;
+
+import com.example.account.dto.BalanceJournalEntry;
+import com.example.account.dto.FailedTransaction;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static com.example.account.type.TransactionResultType.FAILED;
+import static com.example.account.type.TransactionResultType.SUCCESS;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class TransactionJdbcRepository {
+    private static final String INSERT_TRANSACTION =
+            "insert into transaction (id, transaction_type, transaction_result_type, account_id, " +
+                    "amount, balance_snapshot, transaction_id, transacted_at, created_at, updated_at) values ";
+    private static final String VALUES_ROW =
+            "(next value for hibernate_sequence, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DEBIT_ACCOUNT =
+            "update account set balance = balance - ?, version = version + 1, updated_at = ? " +
+                    "where account_number = ? and account_user_id = ? " +
+                    "and account_status = 'IN_USE' and balance >= ? " +
+                    "and (slot_count is null or slot_count = 0)";
+    private static final String INSERT_TRANSACTION_OF_ACCOUNT =
+            "insert into transaction (id, transaction_type, transaction_result_type, account_id, " +
+                    "amount, balance_snapshot, transaction_id, transacted_at, created_at, updated_at) " +
+                    "select next value for hibernate_sequence, ?, ?, id, ?, balance, ?, ?, ?, ? " +
+                    "from account where account_number = ?";
+    private static final String UPDATE_ACCOUNT_BALANCE =
+            "update account set balance = ?, version = version + 1, updated_at = ? " +
+                    "where account_number = ?";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 조건(소유주, 사용 중, 잔액 충분)을 만족할 때만 잔액을 차감.
+     * 계좌를 먼저 조회하지 않고 UPDATE 한 번으로 확인과 차감을 함께 한다.
+     *
+     * @return 차감했으면 true
+     */
+    public boolean debit(String accountNumber, Long userId, Long amount) {
+        return jdbcTemplate.getJdbcOperations().update(DEBIT_ACCOUNT,
+                amount, Timestamp.valueOf(LocalDateTime.now()),
+                accountNumber, userId, amount) == 1;
+    }
+
+    /**
+     * 거래 저장. 잔액 스냅샷은 같은 트랜잭션에서 방금 변경한 계좌 잔액을 사용한다.
+     */
+    public void insertTransaction(TransactionType transactionType,
+                                  TransactionResultType transactionResultType,
+                                  String accountNumber,
+                                  Long amount,
+                                  String transactionId,
+                                  LocalDateTime transactedAt) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.getJdbcOperations().update(INSERT_TRANSACTION_OF_ACCOUNT,
+                transactionType.name(), transactionResultType.name(), amount,
+                transactionId, Timestamp.valueOf(transactedAt), now, now,
+                accountNumber);
+    }
+
+    /**
+     * 실패 거래들을 multi-row insert 한 번으로 저장.
+     * 존재하지 않는 계좌의 거래는 기록하지 않는다.
+     *
+     * @return 저장한 건수
+     */
+    @Transactional
+    public int insertFailedTransactions(List<FailedTransaction> failedTransactions) {
+        Set<String> accountNumbers = new HashSet<>();
+        for (FailedTransaction failedTransaction : failedTransactions) {
+            accountNumbers.add(failedTransaction.getAccountNumber());
+        }
+        Map<String, long[]> accounts = findAccounts(accountNumbers);
+
+        List<Object[]> rows = new ArrayList<>(failedTransactions.size());
+        for (FailedTransaction failedTransaction : failedTransactions) {
+            long[] account = accounts.get(failedTransaction.getAccountNumber());
+            if (account == null) {
+                log.warn("Skip failed transaction of unknown account: {}", failedTransaction);
+                continue;
+            }
+            rows.add(new Object[]{
+                    failedTransaction.getTransactionType().name(), FAILED.name(),
+                    account[0], failedTransaction.getAmount(), account[1],
+                    failedTransaction.getTransactionId(), failedTransaction.getTransactedAt()});
+        }
+        return insertTransactions(rows);
+    }
+
+    /**
+     * Redis 잔액 엔진의 저널을 반영.
+     * 성공 거래를 multi-row insert 로 저장하고, 계좌 잔액은 계좌 별 마지막 기록의 잔액으로 맞춘다.
+     * 이미 저장된 거래 ID 는 건너뛴다. (저널을 지우기 전에 중단된 경우 다시 반영되므로)
+     */
+    @Transactional
+    public void persistJournal(List<BalanceJournalEntry> entries) {
+        Set<String> accountNumbers = new HashSet<>();
+        Set<String> transactionIds = new HashSet<>();
+        for (BalanceJournalEntry entry : entries) {
+            accountNumbers.add(entry.getAccountNumber());
+            transactionIds.add(entry.getTransactionId());
+        }
+        Map<String, long[]> accounts = findAccounts(accountNumbers);
+        Set<String> persisted = new HashSet<>(jdbcTemplate.queryForList(
+                "select transaction_id from transaction where transaction_id in (:transactionIds)",
+                new MapSqlParameterSource("transactionIds", transactionIds), String.class));
+
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        Map<String, Long> balances = new LinkedHashMap<>();
+        for (BalanceJournalEntry entry : entries) {
+            long[] account = accounts.get(entry.getAccountNumber());
+            if (account == null) {
+                log.warn("Skip journal entry of unknown account: {}", entry);
+                continue;
+            }
+            balances.put(entry.getAccountNumber(), entry.getBalanceAfter());
+            if (persisted.contains(entry.getTransactionId())) {
+                continue;
+            }
+            rows.add(new Object[]{
+                    entry.getTransactionType().name(), SUCCESS.name(),
+                    account[0], entry.getAmount(), entry.getBalanceAfter(),
+                    entry.getTransactionId(), entry.getTransactedAt()});
+        }
+        insertTransactions(rows);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>(balances.size());
+        balances.forEach((accountNumber, balance) ->
+                updates.add(new Object[]{balance, now, accountNumber}));
+        jdbcTemplate.getJdbcOperations().batchUpdate(UPDATE_ACCOUNT_BALANCE, updates);
+    }
+
+    // {transactionType, resultType, accountId, amount, balanceSnapshot, transactionId, transactedAt}
+    private int insertTransactions(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        List<Object> args = new ArrayList<>(rows.size() * 9);
+        StringBuilder sql = new StringBuilder(INSERT_TRANSACTION);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Object[] row : rows) {
+            if (!args.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append(VALUES_ROW);
+            args.addAll(Arrays.asList(row).subList(0, 6));
+            args.add(Timestamp.valueOf((LocalDateTime) row[6]));
+            args.add(now);
+            args.add(now);
+        }
+        return jdbcTemplate.getJdbcOperations().update(sql.toString(), args.toArray());
+    }
+
+    // 계좌번호 -> {id, balance}
+    private Map<String, long[]> findAccounts(Set<String> accountNumbers) {
+        Map<String, long[]> accounts = new HashMap<>();
+        jdbcTemplate.query(
+                "select id, account_number, balance from account where account_number in (:accountNumbers)",
+                new MapSqlParameterSource("accountNumbers", accountNumbers),
+                rs -> {
+                    accounts.put(rs.getString("account_number"),
+                            new long[]{rs.getLong("id"), rs.getLong("balance")});
+                });
+        return accounts;
+    }
+}
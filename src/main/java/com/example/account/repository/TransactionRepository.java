@@ -1,13 +1,61 @@
 package com.example.account.repository;
 
 import com.example.account.domain.Transaction;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionHistoryItem;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     Optional<Transaction> findByTransactionId(String transactionId);
+
+    /**
+     * 거래 취소용 - 거래와 계좌를 한 번에 조회
+     */
+    @Query("select t from Transaction t join fetch t.account where t.transactionId = :transactionId")
+    Optional<Transaction> findWithAccountByTransactionId(@Param("transactionId") String transactionId);
+
+    /**
+     * 거래 확인용 - 응답에 필요한 컬럼만 uk_transaction_transaction_id 로 조회
+     */
+    @Query("select new com.example.account.dto.TransactionDto(" +
+            "t.transactionType, t.transactionResultType, a.accountNumber, " +
+            "t.amount, t.balanceSnapshot, t.transactionId, t.transactedAt) " +
+            "from Transaction t join t.account a " +
+            "where t.transactionId = :transactionId")
+    Optional<TransactionDto> findDtoByTransactionId(@Param("transactionId") String transactionId);
+
+    /**
+     * (transactedAt, id) 가 커서보다 이전인 거래를 최신 순으로 조회 (keyset 페이징).
+     * idx_transaction_account_transacted_at 인덱스 순서대로 읽기 때문에
+     * 페이지 깊이와 상관없이 조회 비용이 일정하다.
+     */
+    @Query("select new com.example.account.dto.TransactionHistoryItem(" +
+            "t.id, t.transactionId, t.transactionType, t.transactionResultType, " +
+            "t.amount, t.balanceSnapshot, t.transactedAt) " +
+            "from Transaction t " +
+            "where t.account.id = :accountId " +
+            "and t.transactedAt <= :transactedAt " +
+            "and (t.transactedAt < :transactedAt or t.id < :id) " +
+            "and (:transactionType is null or t.transactionType = :transactionType) " +
+            "and (:transactionResultType is null or t.transactionResultType = :transactionResultType) " +
+            "order by t.transactedAt desc, t.id desc")
+    List<TransactionHistoryItem> findHistory(
+            @Param("accountId") Long accountId,
+            @Param("transactedAt") LocalDateTime transactedAt,
+            @Param("id") Long id,
+            @Param("transactionType") TransactionType transactionType,
+            @Param("transactionResultType") TransactionResultType transactionResultType,
+            Pageable pageable);
 }
@@ -0,0 +1,141 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.dto.AccountDto;
+import com.example.account.dto.CacheStats;
+import com.example.account.type.FaultPoint;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.LongCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 별 계좌 목록(GET /account) 캐시.
+ * 계좌 생성/해지, 잔액 변경 시 무효화하고
+ * Redis pub/sub 으로 다른 서버에도 무효화를 전파한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountCache {
+    private static final String INVALIDATION_TOPIC = "ACCOUNT_CACHE_INVALIDATION";
+
+    private final RedissonClient redissonClient;
+    private final FaultInjector faultInjector;
+
+    @Value("${account.cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${account.cache.max-size:10000}")
+    private int maxSize = 10000;
+
+    // replica 에서 읽은 이전 값이 다시 캐시되지 않도록 커밋 후 한 번 더 지우는 지연 시간 (0 이면 사용 안 함)
+    @Value("${account.cache.delayed-evict-ms:0}")
+    private long delayedEvictMs = 0;
+
+    private BoundedCache<Long, List<AccountDto>> cache;
+    private RTopic invalidationTopic;
+    private int listenerId;
+    private ScheduledExecutorService delayedEvictor;
+
+    @PostConstruct
+    public void init() {
+        cache = new BoundedCache<>(maxSize);
+        invalidationTopic = redissonClient.getTopic(INVALIDATION_TOPIC, LongCodec.INSTANCE);
+        listenerId = invalidationTopic.addListener(Long.class,
+                (channel, userId) -> cache.remove(userId));
+        if (delayedEvictMs > 0) {
+            delayedEvictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "account-cache-delayed-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        invalidationTopic.removeListener(listenerId);
+        if (delayedEvictor != null) {
+            delayedEvictor.shutdownNow();
+        }
+    }
+
+    public Optional<List<AccountDto>> get(Long userId) {
+        return enabled ? Optional.ofNullable(cache.get(userId)) : Optional.empty();
+    }
+
+    public long invalidationToken(Long userId) {
+        return cache.invalidationToken(userId);
+    }
+
+    public void put(Long userId, List<AccountDto> accountDtos, long token) {
+        if (enabled) {
+            cache.put(userId, Collections.unmodifiableList(accountDtos), token);
+        }
+    }
+
+    public void evict(Account account) {
+        evict(account.getAccountUser().getId());
+    }
+
+    /**
+     * 바로 로컬 캐시에서 지우고, 트랜잭션이 커밋된 뒤 한 번 더 지우면서 다른 서버에 알린다.
+     * (커밋 전에 다른 요청이 이전 값을 다시 캐시에 넣는 경우를 막기 위함)
+     */
+    public void evict(Long userId) {
+        cache.remove(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            cache.remove(userId);
+                            publish(userId);
+                            evictLater(userId);
+                        }
+                    });
+        } else {
+            publish(userId);
+            evictLater(userId);
+        }
+    }
+
+    private void evictLater(Long userId) {
+        if (delayedEvictor != null) {
+            delayedEvictor.schedule(() -> {
+                cache.remove(userId);
+                publish(userId);
+            }, delayedEvictMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private void publish(Long userId) {
+        faultInjector.inject(FaultPoint.REDIS);
+        invalidationTopic.publishAsync(userId)
+                .whenComplete((receivers, e) -> {
+                    if (e != null) {
+                        log.error("Failed to publish account cache invalidation: {}", userId, e);
+                    }
+                });
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.account.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌 락을 잡고 작업을 실행한다. (@AccountLock 과 묶음 잔액 사용이 같은 규칙을 쓴다)
+ * Redis 잔액 엔진 계좌와 분할 계좌는 락 없이 실행하고,
+ * 나머지는 account.lock.mode 에 따라 LockService 가 락을 잡는다. (SERIAL / OPTIMISTIC / ATOMIC 은 락 없음)
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountLockTemplate {
+    private final LockService lockService;
+    private final RedisBalanceEngine redisBalanceEngine;
+    private final AccountSlotService accountSlotService;
+    private final MeterRegistry meterRegistry;
+
+    // 락을 잡고 있던 시간
+    private Timer lockHoldTimer;
+
+    @PostConstruct
+    public void init() {
+        lockHoldTimer = meterRegistry.timer("account.lock.hold");
+    }
+
+    public <T, E extends Throwable> T execute(String accountNumber,
+                                              LockedOperation<T, E> operation) throws E {
+        if (redisBalanceEngine.isManaged(accountNumber)) {
+            // Redis 잔액 엔진 계좌는 Lua 스크립트가 원자적으로 처리하므로 락이 필요 없다.
+            return operation.run();
+        }
+        if (accountSlotService.isSharded(accountNumber)) {
+            // 분할 계좌는 AccountSlotService 가 슬롯 별 락을 잡는다.
+            return operation.run();
+        }
+        //lock 취득시도
+        lockService.lock(accountNumber);
+        long lockedAt = System.nanoTime();
+        try {
+            return operation.run();
+        } finally {
+            //lock 해제
+            lockService.unLock(accountNumber);
+            lockHoldTimer.record(System.nanoTime() - lockedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @FunctionalInterface
+    public interface LockedOperation<T, E extends Throwable> {
+        T run() throws E;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.account.service;
+
+import com.example.account.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 계좌번호 발급기.
+ * Redis 시퀀스(INCRBY)로 여러 서버가 겹치지 않게 계좌번호 구간을 block 단위로 예약하고
+ * 예약된 구간 안에서는 락 없이 메모리에서 하나씩 나눠준다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountNumberGenerator {
+    private static final String SEQUENCE_KEY = "ACNO:SEQ";
+    private static final long FIRST_ACCOUNT_NUMBER = 1_000_000_000L;
+    private static final long LAST_ACCOUNT_NUMBER = 9_999_999_999L;
+
+    private final RedissonClient redissonClient;
+    private final AccountRepository accountRepository;
+
+    @Value("${account.number.block-size:100}")
+    private long blockSize = 100L;
+
+    private volatile Block currentBlock;
+
+    public String nextAccountNumber() {
+        while (true) {
+            Block block = currentBlock;
+            if (block != null) {
+                long accountNumber = block.next.getAndIncrement();
+                if (accountNumber <= block.last) {
+                    // 1000000000 ~ 9999999999 범위라 항상 10자리
+                    return Long.toString(accountNumber);
+                }
+            }
+            refill(block);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        // 다른 스레드가 이미 새 구간을 받아왔으면 그대로 사용
+        if (currentBlock == exhausted) {
+            currentBlock = reserveBlock();
+        }
+    }
+
+    private Block reserveBlock() {
+        RAtomicLong sequence = redissonClient.getAtomicLong(SEQUENCE_KEY);
+        initializeSequence(sequence);
+
+        long last = sequence.addAndGet(blockSize);
+        if (last > LAST_ACCOUNT_NUMBER) {
+            throw new IllegalStateException("Account number exhausted: " + last);
+        }
+        log.debug("Reserved account number block: {} ~ {}", last - blockSize + 1, last);
+        return new Block(last - blockSize + 1, last);
+    }
+
+    private void initializeSequence(RAtomicLong sequence) {
+        if (sequence.get() != 0) {
+            return;
+        }
+        // Redis 시퀀스가 비어 있으면 DB에 저장된 가장 큰 계좌번호 다음부터 발급
+        long lastIssued = accountRepository.findMaxAccountNumber()
+                .map(Long::parseLong)
+                .filter(accountNumber -> accountNumber >= FIRST_ACCOUNT_NUMBER)
+                .orElse(FIRST_ACCOUNT_NUMBER - 1);
+        sequence.compareAndSet(0, lastIssued);
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long last;
+
+        private Block(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
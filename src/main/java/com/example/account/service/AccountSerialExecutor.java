@@ -0,0 +1,235 @@
+package com.example.account.service;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.LockMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 락 대신 계좌번호 해시로 나눈 단일 스레드 큐에서 계좌 별 작업을 순서대로 실행한다. (account.lock.mode=SERIAL)
+ * 같은 계좌의 잔액 사용이 큐에 연속으로 쌓여 있으면 한 트랜잭션으로 묶어서 처리한다.
+ * JVM 내부에서만 순서를 보장하므로 계좌 별로 한 인스턴스에서만 처리되는 배포에서 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountSerialExecutor {
+    private final TransactionService transactionService;
+
+    @Value("${account.lock.mode:REDIS}")
+    private LockMode lockMode = LockMode.REDIS;
+
+    @Value("${account.serial.shards:8}")
+    private int shardCount = 8;
+
+    @Value("${account.serial.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+
+    @Value("${account.serial.max-batch:100}")
+    private int maxBatch = 100;
+
+    // 큐에서 기다리는 최대 시간 (실행이 시작되지 않으면 ACCOUNT_TRANSACTION_LOCK)
+    @Value("${account.serial.timeout-ms:1000}")
+    private long timeoutMs = 1000L;
+
+    private Shard[] shards;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        running = true;
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+            shards[i].thread.start();
+        }
+    }
+
+    /**
+     * 큐에 남은 작업을 모두 처리한 뒤 종료.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (shards == null) {
+            return;
+        }
+        running = false;
+        for (Shard shard : shards) {
+            shard.thread.join();
+        }
+    }
+
+    public boolean isEnabled() {
+        return lockMode == LockMode.SERIAL;
+    }
+
+    /**
+     * 잔액 사용. 실패한 거래는 묶음 처리 안에서 FAILED 로 함께 기록된다.
+     */
+    public TransactionDto useBalance(UseBalance.Request request) {
+        return submit(new Task<>(request.getAccountNumber(), request, null));
+    }
+
+    /**
+     * 해당 계좌의 다른 작업들과 순서대로 실행
+     */
+    public <T> T execute(String accountNumber, Callable<T> operation) {
+        return submit(new Task<>(accountNumber, null, operation));
+    }
+
+    private <T> T submit(Task<T> task) {
+        if (!shardOf(task.accountNumber).queue.offer(task)) {
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+
+        try {
+            try {
+                return task.result.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (task.abandon()) {
+                    throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+                }
+                // 이미 실행이 시작된 작업은 결과를 끝까지 기다린다.
+                return task.result.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+    }
+
+    private Shard shardOf(String accountNumber) {
+        int hash = accountNumber.hashCode();
+        return shards[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % shards.length];
+    }
+
+    private class Shard {
+        private final BlockingQueue<Task<?>> queue = new LinkedBlockingQueue<>(queueCapacity);
+        private final Thread thread;
+
+        Shard(int index) {
+            thread = new Thread(this::run, "account-serial-" + index);
+            thread.setDaemon(true);
+        }
+
+        private void run() {
+            while (running || !queue.isEmpty()) {
+                Task<?> task;
+                try {
+                    task = queue.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (task == null || !task.start()) {
+                    continue;
+                }
+
+                if (task.debit != null) {
+                    runDebits(task);
+                } else {
+                    task.run();
+                }
+            }
+        }
+
+        /**
+         * 큐에서 바로 뒤에 이어지는 같은 계좌의 잔액 사용을 모아 한 트랜잭션으로 처리
+         */
+        @SuppressWarnings("unchecked")
+        private void runDebits(Task<?> first) {
+            List<Task<TransactionDto>> batch = new ArrayList<>();
+            batch.add((Task<TransactionDto>) first);
+            while (batch.size() < maxBatch) {
+                Task<?> next = queue.peek();
+                if (next == null || next.debit == null
+                        || !next.accountNumber.equals(first.accountNumber)) {
+                    break;
+                }
+                queue.poll();
+                if (next.start()) {
+                    batch.add((Task<TransactionDto>) next);
+                }
+            }
+
+            List<UseBalance.Request> requests = new ArrayList<>(batch.size());
+            for (Task<TransactionDto> task : batch) {
+                requests.add(task.debit);
+            }
+
+            try {
+                List<UseBalanceBatch.Result> results =
+                        transactionService.useBalanceGroup(first.accountNumber, requests);
+                for (int i = 0; i < batch.size(); i++) {
+                    UseBalanceBatch.Result result = results.get(i);
+                    if (result.isSuccess()) {
+                        batch.get(i).result.complete(result.getTransaction());
+                    } else {
+                        batch.get(i).result.completeExceptionally(
+                                new AccountException(result.getErrorCode()));
+                    }
+                }
+            } catch (RuntimeException e) {
+                for (Task<TransactionDto> task : batch) {
+                    task.result.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private static class Task<T> {
+        private static final int QUEUED = 0;
+        private static final int STARTED = 1;
+        private static final int ABANDONED = 2;
+
+        private final String accountNumber;
+        private final UseBalance.Request debit;
+        private final Callable<T> operation;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        Task(String accountNumber, UseBalance.Request debit, Callable<T> operation) {
+            this.accountNumber = accountNumber;
+            this.debit = debit;
+            this.operation = operation;
+        }
+
+        boolean start() {
+            return state.compareAndSet(QUEUED, STARTED);
+        }
+
+        // 실행 전이면 포기 (호출한 쪽이 기다리다 시간 초과)
+        boolean abandon() {
+            return state.compareAndSet(QUEUED, ABANDONED);
+        }
+
+        void run() {
+            try {
+                result.complete(operation.call());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -1,22 +1,26 @@
 package com.example.account.service;
 
 import com.example.account.Exception.AccountException;
+import com.example.account.aop.OptimisticRetry;
 import com.example.account.domain.Account;
+import com.example.account.domain.AccountSlot;
 import com.example.account.domain.AccountUser;
+import com.example.account.domain.AccountUserQuota;
 import com.example.account.dto.AccountDto;
 import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountSlotRepository;
+import com.example.account.repository.AccountUserQuotaRepository;
 import com.example.account.repository.AccountUserRepository;
 import com.example.account.type.ErrorCode;
 import com.google.common.base.Objects;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-
-import javax.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 import static com.example.account.type.AccountStatus.IN_USE;
 import static com.example.account.type.AccountStatus.UNREGISTERED;
@@ -25,23 +29,31 @@ import static com.example.account.type.ErrorCode.USER_NOT_FOUND;
 @Service
 @RequiredArgsConstructor
 public class AccountService {
+    // 메서드 별 실행 시간 (class, method 태그)
+    private static final String SERVICE_TIMER = "account.service";
+    private static final int MAX_ACCOUNT_PER_USER = 10;
+
     private final AccountRepository accountRepository;
     private final AccountUserRepository accountUserRepository;
+    private final AccountNumberGenerator accountNumberGenerator;
+    private final AccountCache accountCache;
+    private final RedisBalanceEngine redisBalanceEngine;
+    private final AccountSlotRepository accountSlotRepository;
+    private final AccountUserQuotaRepository accountUserQuotaRepository;
 
     /**
      * 사용자가 있는지 조회
      * 계좌의 번호를 생성
      * 해당 계좌 저장, 해당 정보를 넘김.
      */
+    @Timed(SERVICE_TIMER)
     @Transactional
     public AccountDto createAccount(Long userId, Long initialBalance) {
         AccountUser accountUser = getAccountUser(userId);
 
         validateCreateAccount(accountUser);
-        String newAccountNumber = accountRepository.findFirstByOrderByIdDesc()
-                .map(account -> String.valueOf(Long.parseLong(account.getAccountNumber()) + 1))
-                .orElse(generateRandomAccountNumber());
-
+        String newAccountNumber = accountNumberGenerator.nextAccountNumber();
+        accountCache.evict(userId);
 
         return AccountDto.fromEntity(
                 accountRepository.save(
@@ -56,72 +68,189 @@ public class AccountService {
     }
 
 
-    private String generateRandomAccountNumber() {
-        Random random = new Random();
-        // 0부터 9999999999까지의 랜덤 숫자를 생성
-        long randomNumber = (long) (random.nextDouble() * 10000000000L);
-        // 10자리로 포맷하여 반환
-        return String.format("%010d", randomNumber);
-    }
-
     private AccountUser getAccountUser(Long userId) {
         AccountUser accountUser = accountUserRepository.findById(userId)
                 .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
         return accountUser;
     }
 
+    @Timed(SERVICE_TIMER)
     @Transactional
     public AccountDto deleteAccount(Long userId, String accountNumber) {
         AccountUser accountUser = getAccountUser(userId);
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        // Redis 잔액 엔진 계좌는 Redis 의 잔액이 최신
+        long balance = redisBalanceEngine.getBalance(accountNumber)
+                .orElseGet(() -> getBalance(account));
 
-        validateDeleteAccount(accountUser, account);
+        validateDeleteAccount(accountUser, account, balance);
+        // 커밋 뒤에 Redis 에서 해지한다.
+        redisBalanceEngine.unregister(accountNumber);
+        accountUserQuotaRepository.decrementAccountCount(accountUser.getId());
 
         account.setAccountStatus(UNREGISTERED);
         account.setUnRegisteredAt(LocalDateTime.now());
 
         accountRepository.save(account);
+        accountCache.evict(userId);
 
         return AccountDto.fromEntity(account);
     }
 
 
 
+    /**
+     * 계좌 잔액을 slotCount 개의 슬롯으로 나눈다. (호출하는 쪽에서 계좌 락을 잡고 있어야 함)
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    public void splitAccount(String accountNumber, int slotCount) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        if (account.getAccountStatus() != IN_USE) {
+            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        if (account.isSharded() || slotCount < 2) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+
+        long[] balances = divide(account.getBalance(), slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            accountSlotRepository.save(AccountSlot.builder()
+                    .account(account)
+                    .slotIndex(i)
+                    .balance(balances[i])
+                    .build());
+        }
+        accountRepository.updateSharded(account.getId(), slotCount);
+    }
+
+    /**
+     * 가장 적은 슬롯의 잔액이 평균의 절반보다 적은지
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    public boolean isSlotsUnbalanced(String accountNumber) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        return isUnbalanced(accountSlotRepository.findAllByAccountOrderBySlotIndex(account));
+    }
+
+    /**
+     * 슬롯 잔액이 한쪽으로 쏠렸으면 다시 고르게 나눈다.
+     * (호출하는 쪽에서 모든 슬롯의 락을 잡고 있어야 함)
+     *
+     * @return 다시 나눴으면 true
+     */
+    @OptimisticRetry
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    public boolean rebalanceSlots(String accountNumber) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        List<AccountSlot> slots = accountSlotRepository.findAllByAccountOrderBySlotIndex(account);
+        if (!isUnbalanced(slots)) {
+            return false;
+        }
+
+        long[] balances = divide(slots.stream().mapToLong(AccountSlot::getBalance).sum(), slots.size());
+        for (int i = 0; i < slots.size(); i++) {
+            slots.get(i).setBalance(balances[i]);
+        }
+        return true;
+    }
+
+    private static boolean isUnbalanced(List<AccountSlot> slots) {
+        if (slots.size() < 2) {
+            return false;
+        }
+        long total = slots.stream().mapToLong(AccountSlot::getBalance).sum();
+        long min = slots.stream().mapToLong(AccountSlot::getBalance).min().getAsLong();
+        return min * 2 < total / slots.size();
+    }
+
+    // 분할 계좌도 계좌 잔액을 더한다. (분할 이후 잘못 반영된 금액이 남지 않도록)
+    private Long getBalance(Account account) {
+        return account.isSharded()
+                ? account.getBalance() + accountSlotRepository.sumBalance(account)
+                : account.getBalance();
+    }
+
+    // 나머지는 앞 슬롯부터 1씩
+    private static long[] divide(long total, int count) {
+        long[] balances = new long[count];
+        for (int i = 0; i < count; i++) {
+            balances[i] = total / count + (i < total % count ? 1 : 0);
+        }
+        return balances;
+    }
+
+    // 계좌 수를 세지 않고 사용자의 계좌 수를 조건부로 증가시켜서 확인
     private void validateCreateAccount(AccountUser accountUser) {
-        if (accountRepository.countByAccountUser(accountUser) >= 10) {
-            throw new AccountException(ErrorCode.MAX_ACCOUNT_PER_USER_ID);
+        if (accountUserQuotaRepository.incrementAccountCount(
+                accountUser.getId(), MAX_ACCOUNT_PER_USER) == 1) {
+            return;
+        }
+        if (!accountUserQuotaRepository.existsById(accountUser.getId())) {
+            createAccountUserQuota(accountUser);
         }
+        // 처음 시도할 때 다른 요청이 만든 row 가 아직 커밋 전이었을 수 있으므로 한 번 더 시도
+        if (accountUserQuotaRepository.incrementAccountCount(
+                accountUser.getId(), MAX_ACCOUNT_PER_USER) == 1) {
+            return;
+        }
+        throw new AccountException(ErrorCode.MAX_ACCOUNT_PER_USER_ID);
     }
 
-    private void validateDeleteAccount(AccountUser accountUser, Account account) {
+    // 계좌 수 row 가 없는 사용자 (처음 계좌를 만들거나 이전부터 있던 사용자)는 사용 중인 계좌를 세서 만든다.
+    // 사용자 row 를 잠가서 동시에 두 번 만들지 않도록 한다.
+    private void createAccountUserQuota(AccountUser accountUser) {
+        accountUserRepository.findForUpdateById(accountUser.getId());
+        if (accountUserQuotaRepository.existsById(accountUser.getId())) {
+            return;
+        }
+        accountUserQuotaRepository.saveAndFlush(AccountUserQuota.builder()
+                .accountUserId(accountUser.getId())
+                .accountCount(accountRepository.countByAccountUserAndAccountStatus(accountUser, IN_USE))
+                .build());
+    }
+
+    private void validateDeleteAccount(AccountUser accountUser, Account account, long balance) {
         if(!Objects.equal(accountUser.getId(), account.getAccountUser().getId())) {
             throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
         }
         if (account.getAccountStatus() == UNREGISTERED) {
             throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
         }
-        if (account.getBalance() > 0) {
+        if (balance > 0) {
             throw new AccountException(ErrorCode.BALANCE_IS_NOT_EMPTY);
         }
     }
 
-    @Transactional
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
     public Account getAccount(Long id) {
         if (id < 0) {
             throw new RuntimeException("Minus");
         }
-        return accountRepository.findById(id).get();
+        return accountRepository.findWithAccountUserById(id).get();
     }
 
-    @Transactional
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
     public List<AccountDto> getAccountsByUserId(Long userId) {
-        AccountUser accountUser = getAccountUser(userId);
+        Optional<List<AccountDto>> cached = accountCache.get(userId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long token = accountCache.invalidationToken(userId);
 
-        List<Account> accounts = accountRepository.findAllByAccountUser(accountUser);
+        AccountUser accountUser = getAccountUser(userId);
 
-        return accounts.stream().
-                map(AccountDto::fromEntity).
-                collect(Collectors.toList());
+        List<AccountDto> accountDtos =
+                accountRepository.findAccountDtosByAccountUserId(accountUser.getId());
+        accountCache.put(userId, accountDtos, token);
+        return accountDtos;
     }
 }
@@ -0,0 +1,233 @@
+package com.example.account.service;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.domain.Account;
+import com.example.account.dto.TransactionDto;
+import com.example.account.repository.AccountRepository;
+import com.example.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 분할 계좌(거래가 몰리는 가맹점 정산 계좌 등)의 거래를 슬롯으로 나눠 처리한다.
+ * 슬롯마다 락(ACLK:계좌번호:슬롯번호)을 따로 잡으므로 같은 계좌의 거래가 동시에 처리된다.
+ * <p>
+ * 차감은 임의의 슬롯부터 기다리지 않고 락을 시도해서 잔액이 충분한 슬롯에서 처리하고,
+ * 그런 슬롯이 없으면 모든 슬롯의 락을 잡고 여러 슬롯에서 나눠서 차감한다.
+ * 슬롯 잔액이 한쪽으로 쏠리면 백그라운드에서 다시 고르게 나눈다.
+ * (분할 여부는 rebalance 주기마다 DB 에서 다시 읽어서 다른 서버의 분할도 반영한다)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccountSlotService implements SmartInitializingSingleton {
+    private final LockService lockService;
+    private final TransactionService transactionService;
+    private final AccountService accountService;
+    private final AccountRepository accountRepository;
+
+    @Value("${account.slot.max-slots:64}")
+    private int maxSlots = 64;
+
+    @Value("${account.slot.rebalance-interval-ms:1000}")
+    private long rebalanceIntervalMs = 1000;
+
+    // 분할 계좌번호 -> 슬롯 수
+    private final Map<String, Integer> slotCounts = new ConcurrentHashMap<>();
+    private ScheduledExecutorService rebalancer;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+        rebalancer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "account-slot-rebalancer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebalancer.scheduleWithFixedDelay(this::rebalanceAll,
+                rebalanceIntervalMs, rebalanceIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (rebalancer != null) {
+            rebalancer.shutdownNow();
+        }
+    }
+
+    public boolean isSharded(String accountNumber) {
+        return !slotCounts.isEmpty() && slotCounts.containsKey(accountNumber);
+    }
+
+    /**
+     * DB 에서 계좌의 분할 여부를 다시 읽는다. (ACCOUNT_SHARDED 로 거절된 요청을 슬롯으로 다시 보낼 때)
+     *
+     * @return 분할 계좌이면 true
+     */
+    public boolean reload(String accountNumber) {
+        Optional<Account> account = accountRepository.findByAccountNumber(accountNumber);
+        if (account.isPresent() && account.get().isSharded()) {
+            slotCounts.put(accountNumber, account.get().getSlotCount());
+            return true;
+        }
+        slotCounts.remove(accountNumber);
+        return false;
+    }
+
+    /**
+     * 계좌를 slotCount 개의 슬롯으로 나눈다.
+     * 기존 계좌 락을 잡고 나누므로 진행 중인 일반 거래가 끝난 뒤에 나눠진다.
+     */
+    public void split(String accountNumber, int slotCount) {
+        if (slotCount < 2 || slotCount > maxSlots) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+
+        lockService.lock(accountNumber);
+        try {
+            accountService.splitAccount(accountNumber, slotCount);
+            slotCounts.put(accountNumber, slotCount);
+        } finally {
+            lockService.unLock(accountNumber);
+        }
+    }
+
+    public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
+        int slotCount = getSlotCount(accountNumber);
+        int start = ThreadLocalRandom.current().nextInt(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            int slotIndex = (start + i) % slotCount;
+            String slotKey = slotKey(accountNumber, slotIndex);
+            if (!lockService.tryLock(slotKey)) {
+                continue;
+            }
+            try {
+                Optional<TransactionDto> transactionDto =
+                        transactionService.useSlotBalance(userId, accountNumber, slotIndex, amount);
+                if (transactionDto.isPresent()) {
+                    return transactionDto.get();
+                }
+            } finally {
+                lockService.unLock(slotKey);
+            }
+        }
+
+        // 잔액이 충분한 슬롯이 없으면 모든 슬롯에서 나눠서 차감
+        lockAll(accountNumber, slotCount);
+        try {
+            return transactionService.useSlotsBalance(userId, accountNumber, amount);
+        } finally {
+            unLockAll(accountNumber, slotCount);
+        }
+    }
+
+    public TransactionDto cancelBalance(String transactionId, String accountNumber, Long amount) {
+        int slotCount = getSlotCount(accountNumber);
+        int start = ThreadLocalRandom.current().nextInt(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            int slotIndex = (start + i) % slotCount;
+            String slotKey = slotKey(accountNumber, slotIndex);
+            if (lockService.tryLock(slotKey)) {
+                try {
+                    return transactionService.cancelSlotBalance(
+                            transactionId, accountNumber, slotIndex, amount);
+                } finally {
+                    lockService.unLock(slotKey);
+                }
+            }
+        }
+
+        // 모든 슬롯이 사용 중이면 처음 슬롯을 기다린다.
+        String slotKey = slotKey(accountNumber, start);
+        lockService.lock(slotKey);
+        try {
+            return transactionService.cancelSlotBalance(transactionId, accountNumber, start, amount);
+        } finally {
+            lockService.unLock(slotKey);
+        }
+    }
+
+    public boolean rebalance(String accountNumber) {
+        int slotCount = getSlotCount(accountNumber);
+        lockAll(accountNumber, slotCount);
+        try {
+            return accountService.rebalanceSlots(accountNumber);
+        } finally {
+            unLockAll(accountNumber, slotCount);
+        }
+    }
+
+    private void rebalanceAll() {
+        try {
+            refresh();
+            for (String accountNumber : slotCounts.keySet()) {
+                try {
+                    // 락을 잡기 전에 먼저 확인해서 고르게 나눠진 계좌의 거래를 막지 않는다.
+                    if (accountService.isSlotsUnbalanced(accountNumber) && rebalance(accountNumber)) {
+                        log.debug("Rebalanced slots of account number: {}", accountNumber);
+                    }
+                } catch (AccountException e) {
+                    log.warn("Skip rebalancing account number {}: {}", accountNumber, e.getErrorCode());
+                } catch (RuntimeException e) {
+                    // 한 계좌의 실패로 나머지 계좌의 rebalance 를 멈추지 않는다.
+                    log.error("Failed to rebalance account number: {}", accountNumber, e);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to rebalance account slots", e);
+        }
+    }
+
+    // 해지 / 병합된 계좌도 빠지도록 DB 결과로 다시 만든다.
+    private void refresh() {
+        Map<String, Integer> current = new HashMap<>();
+        for (Account account : accountRepository.findAllBySlotCountGreaterThan(0)) {
+            current.put(account.getAccountNumber(), account.getSlotCount());
+        }
+        slotCounts.keySet().retainAll(current.keySet());
+        slotCounts.putAll(current);
+    }
+
+    private int getSlotCount(String accountNumber) {
+        Integer slotCount = slotCounts.get(accountNumber);
+        if (slotCount == null) {
+            throw new AccountException(ErrorCode.ACCOUNT_NOT_FOUND);
+        }
+        return slotCount;
+    }
+
+    // 교착을 피하기 위해 항상 슬롯 번호 순으로 잡는다.
+    private void lockAll(String accountNumber, int slotCount) {
+        for (int i = 0; i < slotCount; i++) {
+            try {
+                lockService.lock(slotKey(accountNumber, i));
+            } catch (RuntimeException e) {
+                unLockAll(accountNumber, i);
+                throw e;
+            }
+        }
+    }
+
+    private void unLockAll(String accountNumber, int slotCount) {
+        for (int i = slotCount - 1; i >= 0; i--) {
+            lockService.unLock(slotKey(accountNumber, i));
+        }
+    }
+
+    private static String slotKey(String accountNumber, int slotIndex) {
+        return accountNumber + ":" + slotIndex;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.account.service;
+
+import com.example.account.dto.CacheStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 최대 크기가 정해진 LRU 캐시.
+ * 가득 차면 가장 오래 사용하지 않은 항목부터 제거한다.
+ */
+public class BoundedCache<K, V> {
+    // 2의 거듭제곱
+    private static final int INVALIDATION_STRIPES = 1024;
+
+    private final int maxSize;
+    private final Map<K, V> entries;
+    // 키의 stripe 에서 무효화가 일어날 때마다 증가. 조회 도중 무효화된 값이 다시 캐시에 들어가는 것을 막는다.
+    // (키 별로 나눠서 다른 키의 무효화 때문에 저장을 건너뛰지 않도록)
+    private final AtomicLongArray invalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                boolean evict = size() > BoundedCache.this.maxSize;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    public long invalidationToken(K key) {
+        return invalidations.get(stripe(key));
+    }
+
+    /**
+     * 값을 읽기 전에 받아둔 token 이후로 해당 키의 무효화가 없었을 때만 저장.
+     */
+    public synchronized void put(K key, V value, long token) {
+        if (invalidations.get(stripe(key)) == token) {
+            entries.put(key, value);
+        }
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public synchronized void remove(K key) {
+        invalidations.incrementAndGet(stripe(key));
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < INVALIDATION_STRIPES; i++) {
+            invalidations.incrementAndGet(i);
+        }
+        entries.clear();
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (INVALIDATION_STRIPES - 1);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public CacheStats stats() {
+        return CacheStats.of(size(), maxSize,
+                hits.sum(), misses.sum(), evictions.sum());
+    }
+}
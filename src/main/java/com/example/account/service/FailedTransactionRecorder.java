@@ -0,0 +1,205 @@
+package com.example.account.service;
+
+import com.example.account.dto.FailedTransaction;
+import com.example.account.repository.TransactionJdbcRepository;
+import com.example.account.type.TransactionType;
+import io.micrometer.core.instrument.Metrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.type.TransactionType.CANCEL_USE_BALANCE;
+import static com.example.account.type.TransactionType.USE_BALANCE;
+
+/**
+ * 실패 거래 기록을 큐에 쌓아두고 별도 스레드에서 모아서 저장한다.
+ * 요청 스레드는 계좌 락을 잡은 채로 DB 에 쓰지 않아도 된다.
+ * 큐가 가득 차면 잠시 기다린 뒤, 그래도 자리가 없으면 요청 스레드에서 직접 저장한다.
+ * 묶음 저장이 실패하면 간격을 늘려가며 재시도하고, 그래도 실패하면 한 건씩 저장해서
+ * 문제가 되는 기록만 버린다. (버린 건수는 account.failed-transaction.dropped)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FailedTransactionRecorder {
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final TransactionIdGenerator transactionIdGenerator;
+
+    @Value("${account.failed-transaction.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+
+    @Value("${account.failed-transaction.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${account.failed-transaction.offer-timeout-ms:50}")
+    private long offerTimeoutMs = 50;
+
+    @Value("${account.failed-transaction.max-retries:3}")
+    private int maxRetries = 3;
+
+    @Value("${account.failed-transaction.retry-backoff-ms:100}")
+    private long retryBackoffMs = 100;
+
+    @Value("${account.failed-transaction.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs = 10000;
+
+    private BlockingQueue<FailedTransaction> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::drainLoop, "failed-transaction-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 남은 기록을 모두 저장한 뒤 종료.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(shutdownTimeoutMs);
+        if (writer.isAlive()) {
+            writer.interrupt();
+            writer.join();
+        }
+        // 쓰기 스레드가 끝난 뒤 남아있는 기록이 있으면 직접 저장
+        flush();
+    }
+
+    public void recordUseFailure(String accountNumber, Long amount) {
+        record(USE_BALANCE, accountNumber, amount);
+    }
+
+    public void recordCancelFailure(String accountNumber, Long amount) {
+        record(CANCEL_USE_BALANCE, accountNumber, amount);
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    private void record(TransactionType transactionType, String accountNumber, Long amount) {
+        FailedTransaction failedTransaction = FailedTransaction.builder()
+                .transactionType(transactionType)
+                .accountNumber(accountNumber)
+                .amount(amount)
+                .transactionId(transactionIdGenerator.generate())
+                .transactedAt(LocalDateTime.now())
+                .build();
+
+        if (!running) {
+            write(Collections.singletonList(failedTransaction));
+            return;
+        }
+
+        try {
+            if (!queue.offer(failedTransaction, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Failed transaction queue is full, writing synchronously");
+                write(Collections.singletonList(failedTransaction));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write(Collections.singletonList(failedTransaction));
+        }
+    }
+
+    private void drainLoop() {
+        List<FailedTransaction> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                FailedTransaction first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch, maxRetries);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush() {
+        List<FailedTransaction> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * 요청 스레드 / 종료 시에는 기다리지 않도록 재시도 없이 저장한다.
+     */
+    private void write(List<FailedTransaction> batch) {
+        write(batch, 0);
+    }
+
+    private void write(List<FailedTransaction> batch, int retries) {
+        long backoffMs = retryBackoffMs;
+        RuntimeException failure;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                transactionJdbcRepository.insertFailedTransactions(batch);
+                return;
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            if (attempt >= retries || !sleep(backoffMs)) {
+                break;
+            }
+            backoffMs *= 2;
+        }
+        if (batch.size() == 1) {
+            drop(batch.get(0), failure);
+            return;
+        }
+
+        log.warn("Failed to write {} failed transactions, writing one by one", batch.size(), failure);
+        for (FailedTransaction failedTransaction : batch) {
+            try {
+                transactionJdbcRepository.insertFailedTransactions(
+                        Collections.singletonList(failedTransaction));
+            } catch (RuntimeException e) {
+                drop(failedTransaction, e);
+            }
+        }
+    }
+
+    private void drop(FailedTransaction failedTransaction, RuntimeException e) {
+        Metrics.counter("account.failed-transaction.dropped").increment();
+        log.error("Dropped failed transaction: {}", failedTransaction, e);
+    }
+
+    /**
+     * @return 종료 중 인터럽트되면 false
+     */
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
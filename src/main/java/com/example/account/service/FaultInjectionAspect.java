@@ -0,0 +1,35 @@
+package com.example.account.service;
+
+import com.example.account.type.FaultPoint;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 락 / 리포지토리 호출 앞에서 FaultInjector 를 호출한다.
+ * (REDIS 는 RedissonClient 의 객체 조회가 아닌 실제 Redis 호출 앞에서 각 서비스가 직접 호출한다)
+ * account.fault.enabled=true 일 때만 등록되어 운영에서는 프록시도 만들지 않는다.
+ * LockAopAspect 보다 먼저(바깥에서) 실행되어야 BEFORE_LOCK 이 락을 잡기 전에 걸린다.
+ */
+@Aspect
+@Component
+@Order(2)
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "account.fault", name = "enabled", havingValue = "true")
+public class FaultInjectionAspect {
+    private final FaultInjector faultInjector;
+
+    @Before("@annotation(com.example.account.aop.AccountLock)")
+    public void beforeLock() {
+        faultInjector.inject(FaultPoint.BEFORE_LOCK);
+    }
+
+    @Before("target(org.springframework.data.repository.Repository)"
+            + " || target(com.example.account.repository.TransactionJdbcRepository)")
+    public void beforeRepository() {
+        faultInjector.inject(FaultPoint.REPOSITORY);
+    }
+}
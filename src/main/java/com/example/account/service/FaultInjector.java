@@ -0,0 +1,145 @@
+package com.example.account.service;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.dto.FaultRule;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.FaultPoint;
+import com.example.account.type.LatencyDistribution;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벤치마크 / 장애 테스트용 지연 및 에러 주입.
+ * <p>
+ * account.fault.enabled=true 일 때만 규칙을 설정할 수 있다. (운영 기본값은 false)
+ * 규칙은 시작 시 account.fault.rules 로, 실행 중에는 /admin/faults 로 바꾼다.
+ * INSIDE_LOCK 은 컨트롤러에서, REDIS 는 Redis 를 호출하는 서비스에서,
+ * 나머지 지점은 FaultInjectionAspect 에서 호출한다.
+ */
+@Slf4j
+@Component
+public class FaultInjector {
+    @Value("${account.fault.enabled:false}")
+    private boolean enabled = false;
+
+    // 지점=분포:지연ms[:최대ms[:에러율[:에러코드]]] 를 쉼표로 구분
+    // 예) INSIDE_LOCK=FIXED:2000,REPOSITORY=UNIFORM:5:20:0.01:INTERNAL_SERVER_ERROR
+    @Value("${account.fault.rules:}")
+    private String initialRules = "";
+
+    private final Map<FaultPoint, FaultRule> rules = new ConcurrentHashMap<>();
+    // 규칙이 없으면 map 조회도 하지 않는다.
+    private volatile boolean active;
+
+    @PostConstruct
+    public void init() {
+        if (initialRules == null || initialRules.isBlank()) {
+            return;
+        }
+        if (!enabled) {
+            log.warn("account.fault.rules is ignored because account.fault.enabled is false");
+            return;
+        }
+        for (String rule : initialRules.split(",")) {
+            String[] pointAndRule = rule.trim().split("=");
+            setRule(FaultPoint.valueOf(pointAndRule[0].trim()), parseRule(pointAndRule[1].trim()));
+        }
+    }
+
+    public void inject(FaultPoint point) {
+        if (!active) {
+            return;
+        }
+        FaultRule rule = rules.get(point);
+        if (rule == null) {
+            return;
+        }
+
+        long delayMs = delayMs(rule);
+        if (delayMs > 0) {
+            Metrics.counter("account.fault.injected", "point", point.name(), "type", "latency").increment();
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (rule.getErrorRate() > 0 && ThreadLocalRandom.current().nextDouble() < rule.getErrorRate()) {
+            Metrics.counter("account.fault.injected", "point", point.name(), "type", "error").increment();
+            throw new AccountException(rule.getErrorCode() == null
+                    ? ErrorCode.INTERNAL_SERVER_ERROR
+                    : rule.getErrorCode());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Map<FaultPoint, FaultRule> getRules() {
+        Map<FaultPoint, FaultRule> snapshot = new EnumMap<>(FaultPoint.class);
+        snapshot.putAll(rules);
+        return snapshot;
+    }
+
+    public void setRule(FaultPoint point, FaultRule rule) {
+        if (!enabled) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+        rules.put(point, rule);
+        active = true;
+        log.warn("Fault injection at {}: latency={} {}~{}ms, errorRate={} {}", point,
+                rule.getLatency(), rule.getLatencyMs(), rule.getMaxLatencyMs(),
+                rule.getErrorRate(), rule.getErrorCode());
+    }
+
+    public void clearRule(FaultPoint point) {
+        rules.remove(point);
+        active = !rules.isEmpty();
+    }
+
+    public void clearRules() {
+        rules.clear();
+        active = false;
+    }
+
+    private static long delayMs(FaultRule rule) {
+        LatencyDistribution latency = rule.getLatency();
+        if (latency == null) {
+            return 0;
+        }
+        switch (latency) {
+            case FIXED:
+                return rule.getLatencyMs();
+            case UNIFORM:
+                return rule.getMaxLatencyMs() > rule.getLatencyMs()
+                        ? ThreadLocalRandom.current().nextLong(rule.getLatencyMs(), rule.getMaxLatencyMs() + 1)
+                        : rule.getLatencyMs();
+            case EXPONENTIAL:
+                long delayMs = (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble())
+                        * rule.getLatencyMs());
+                return rule.getMaxLatencyMs() > 0 ? Math.min(delayMs, rule.getMaxLatencyMs()) : delayMs;
+            default:
+                return 0;
+        }
+    }
+
+    private static FaultRule parseRule(String spec) {
+        String[] parts = spec.split(":");
+        return FaultRule.builder()
+                .latency(LatencyDistribution.valueOf(parts[0]))
+                .latencyMs(parts.length > 1 ? Long.parseLong(parts[1]) : 0L)
+                .maxLatencyMs(parts.length > 2 ? Long.parseLong(parts[2]) : 0L)
+                .errorRate(parts.length > 3 ? Double.parseDouble(parts[3]) : 0.0)
+                .errorCode(parts.length > 4 ? ErrorCode.valueOf(parts[4]) : null)
+                .build();
+    }
+}
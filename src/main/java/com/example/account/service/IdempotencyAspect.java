@@ -0,0 +1,107 @@
+package com.example.account.service;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.dto.UseBalance;
+import com.example.account.type.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+/**
+ * 계좌 락(LockAopAspect)보다 먼저 실행되어
+ * 이미 처리한 요청이면 락을 잡지 않고 저장된 응답을 돌려준다.
+ */
+@Aspect
+@Component
+@Slf4j
+@Order(0)
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    @Around("@annotation(com.example.account.aop.Idempotent)")
+    public Object aroundMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        String idempotencyKey = getIdempotencyKey();
+        if (idempotencyKey == null) {
+            return joinPoint.proceed();
+        }
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        // 같은 키라도 API 나 계좌 / 사용자가 다르면 다른 요청
+        String key = signature.getName() + ":" + scopeOf(joinPoint.getArgs()) + idempotencyKey;
+        Class<?> returnType = signature.getReturnType();
+
+        Optional<String> stored = idempotencyStore.find(key);
+        if (stored.isPresent()) {
+            return toResponse(stored.get(), returnType);
+        }
+        if (!idempotencyStore.tryStart(key)) {
+            // 그 사이 다른 요청이 먼저 선점한 경우
+            return toResponse(idempotencyStore.find(key).orElseThrow(
+                    () -> new AccountException(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS)), returnType);
+        }
+
+        Object response;
+        try {
+            response = joinPoint.proceed();
+        } catch (Throwable e) {
+            idempotencyStore.release(key);
+            throw e;
+        }
+
+        try {
+            idempotencyStore.complete(key, objectMapper.writeValueAsString(response));
+        } catch (RuntimeException e) {
+            // 응답 저장에 실패해도 요청 자체는 처리됐으므로 응답은 돌려준다.
+            log.error("Failed to store idempotent response: {}", key, e);
+        }
+        return response;
+    }
+
+    private Object toResponse(String stored, Class<?> returnType) throws Exception {
+        if (IdempotencyStore.PENDING.equals(stored)) {
+            throw new AccountException(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS);
+        }
+        return objectMapper.readValue(stored, returnType);
+    }
+
+    // 클라이언트들이 같은 키를 골라도 서로의 응답을 받지 않도록 요청의 계좌(와 사용자)로 나눈다.
+    // (거래 취소 요청에는 사용자 ID 가 없으므로 계좌번호로 나눈다, 계좌의 소유자는 한 명)
+    private static String scopeOf(Object[] args) {
+        StringBuilder scope = new StringBuilder();
+        for (Object arg : args) {
+            if (arg instanceof AccountLockIdInterface) {
+                scope.append(((AccountLockIdInterface) arg).getAccountNumber()).append(':');
+            }
+            if (arg instanceof UseBalance.Request) {
+                scope.append(((UseBalance.Request) arg).getUserId()).append(':');
+            }
+        }
+        return scope.toString();
+    }
+
+    private static String getIdempotencyKey() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        String key = ((ServletRequestAttributes) attributes).getRequest()
+                .getHeader(IDEMPOTENCY_KEY_HEADER);
+        return key == null || key.isEmpty() ? null : key;
+    }
+}
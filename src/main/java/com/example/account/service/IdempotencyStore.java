@@ -0,0 +1,95 @@
+package com.example.account.service;
+
+import com.example.account.type.FaultPoint;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Idempotency-Key 별 응답 저장소.
+ * Redis 에 저장하고, 완료된 응답은 로컬 캐시에도 둬서 재요청 시 Redis 조회도 생략한다.
+ * 처리 중인 키는 PENDING 으로 표시한다. PENDING 은 짧게 두어서 처리 중 서버가 죽어도
+ * 잠시 뒤 같은 키로 다시 시도할 수 있고, 응답을 저장할 때 전체 보관 시간을 준다.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyStore {
+    public static final String PENDING = "PENDING";
+    private static final String KEY_PREFIX = "IDEM:";
+
+    private final RedissonClient redissonClient;
+    private final FaultInjector faultInjector;
+
+    @Value("${account.idempotency.ttl-seconds:86400}")
+    private long ttlSeconds = 86400;
+
+    // 계좌 락 대기 + 보유 시간(account.lock.wait-time-ms + lease-time-ms)보다 길게
+    @Value("${account.idempotency.pending-ttl-seconds:30}")
+    private long pendingTtlSeconds = 30;
+
+    @Value("${account.idempotency.local-cache-size:10000}")
+    private int localCacheSize = 10000;
+
+    private BoundedCache<String, StoredResponse> localCache;
+
+    @PostConstruct
+    public void init() {
+        localCache = new BoundedCache<>(localCacheSize);
+    }
+
+    /**
+     * 저장된 응답(JSON) 또는 PENDING
+     */
+    public Optional<String> find(String key) {
+        StoredResponse stored = localCache.get(key);
+        if (stored != null) {
+            if (stored.expiresAt > System.currentTimeMillis()) {
+                return Optional.of(stored.json);
+            }
+            localCache.remove(key);
+        }
+        return Optional.ofNullable(bucket(key).get());
+    }
+
+    /**
+     * 처음 들어온 키면 PENDING 으로 선점하고 true
+     */
+    public boolean tryStart(String key) {
+        return bucket(key).trySet(PENDING, pendingTtlSeconds, TimeUnit.SECONDS);
+    }
+
+    public void complete(String key, String json) {
+        bucket(key).set(json, ttlSeconds, TimeUnit.SECONDS);
+        localCache.put(key, new StoredResponse(json,
+                System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds)));
+    }
+
+    /**
+     * 처리에 실패한 키는 지워서 같은 키로 다시 시도할 수 있게 한다.
+     */
+    public void release(String key) {
+        bucket(key).delete();
+    }
+
+    /**
+     * 버킷 조회 자체는 Redis 왕복이 아니지만 항상 바로 get / set 등을 호출하므로 여기서 주입한다.
+     */
+    private RBucket<String> bucket(String key) {
+        faultInjector.inject(FaultPoint.REDIS);
+        return redissonClient.getBucket(KEY_PREFIX + key, StringCodec.INSTANCE);
+    }
+
+    @AllArgsConstructor
+    private static class StoredResponse {
+        private final String json;
+        private final long expiresAt;
+    }
+}
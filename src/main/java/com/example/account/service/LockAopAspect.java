@@ -1,7 +1,6 @@
 package com.example.account.service;
 
 import com.example.account.aop.AccountLockIdInterface;
-import com.example.account.dto.UseBalance;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -14,21 +13,11 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @RequiredArgsConstructor
 public class LockAopAspect {
-    private final LockService lockService;
+    private final AccountLockTemplate accountLockTemplate;
 
     @Around("@annotation(com.example.account.aop.AccountLock)  && args(request)")
     public Object aroundMethod(ProceedingJoinPoint joinPoint, AccountLockIdInterface request)
             throws Throwable {
-        //lock 취득시도
-        lockService.lock(request.getAccountNumber());
-        try {
-            //before
-            return joinPoint.proceed();
-            //after
-        } finally {
-            //lock 해제
-            lockService.unLock(request.getAccountNumber());
-
-        }
+        return accountLockTemplate.execute(request.getAccountNumber(), joinPoint::proceed);
     }
 }
@@ -2,26 +2,151 @@ package com.example.account.service;
 
 import com.example.account.Exception.AccountException;
 import com.example.account.type.ErrorCode;
+import com.example.account.type.FaultPoint;
+import com.example.account.type.LockMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class LockService {
+    // 계좌번호 해시로 나눠 쓰는 JVM 내부 락 개수 (2의 제곱수)
+    private static final int LOCAL_LOCK_STRIPES = 1024;
+
     private final RedissonClient redissonClient;
+    private final FaultInjector faultInjector;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock[] localLocks = createLocalLocks();
+
+    @Value("${account.lock.mode:REDIS}")
+    private LockMode lockMode = LockMode.REDIS;
+
+    @Value("${account.lock.wait-time-ms:1000}")
+    private long waitTimeMs = 1000L;
+
+    @Value("${account.lock.lease-time-ms:15000}")
+    private long leaseTimeMs = 15000L;
+
+    // 락 획득까지 기다린 시간 (실패 건수는 outcome=failed 의 count), 호출마다 만들지 않도록 미리 등록
+    private Timer lockAcquiredTimer;
+    private Timer lockFailedTimer;
+
+    @PostConstruct
+    public void init() {
+        lockAcquiredTimer = lockWaitTimer("acquired");
+        lockFailedTimer = lockWaitTimer("failed");
+    }
 
     public void lock(String accountNumber) {
-        RLock lock = redissonClient.getLock(getLockKey(accountNumber));
         log.debug("Trying lock account number: {}", accountNumber);
+        if (!lockMode.usesLock()) {
+            // 계좌 별 실행 큐 / 버전 충돌 재시도 / 조건부 UPDATE 로 처리하므로 락이 필요 없다.
+            return;
+        }
+        acquire(accountNumber, waitTimeMs);
+    }
+
+    /**
+     * 기다리지 않고 락 획득을 시도. (분할 계좌의 비어있는 슬롯 찾기)
+     *
+     * @return 획득했으면 true
+     */
+    public boolean tryLock(String accountNumber) {
+        if (!lockMode.usesLock()) {
+            return true;
+        }
+        try {
+            acquire(accountNumber, 0L);
+            return true;
+        } catch (AccountException e) {
+            return false;
+        }
+    }
+
+    private void acquire(String accountNumber, long waitMs) {
+        long startedAt = System.nanoTime();
+        Timer timer = lockAcquiredTimer;
+        try {
+            switch (lockMode) {
+                case LOCAL:
+                    lockLocal(accountNumber, waitMs);
+                    break;
+                case HYBRID:
+                    lockHybrid(accountNumber, waitMs);
+                    break;
+                default:
+                    lockRedis(accountNumber, waitMs);
+            }
+        } catch (RuntimeException e) {
+            timer = lockFailedTimer;
+            throw e;
+        } finally {
+            timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer lockWaitTimer(String outcome) {
+        return Timer.builder("account.lock.wait")
+                .tag("mode", lockMode.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public void unLock(String accountNumber) {
+        log.debug("unlock for account number: {}", accountNumber);
+
+        switch (lockMode) {
+            case SERIAL:
+            case OPTIMISTIC:
+            case ATOMIC:
+                break;
+            case LOCAL:
+                unLockLocal(accountNumber);
+                break;
+            case HYBRID:
+                try {
+                    unLockRedis(accountNumber);
+                } finally {
+                    unLockLocal(accountNumber);
+                }
+                break;
+            default:
+                unLockRedis(accountNumber);
+        }
+    }
+
+    private void lockHybrid(String accountNumber, long waitMs) {
+        long startedAt = System.nanoTime();
+        lockLocal(accountNumber, waitMs);
+
+        try {
+            // 내부 락을 기다린 시간만큼 Redis 락 대기 시간에서 뺀다.
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            lockRedis(accountNumber, Math.max(0L, waitMs - elapsedMs));
+        } catch (RuntimeException e) {
+            unLockLocal(accountNumber);
+            throw e;
+        }
+    }
+
+    private void lockRedis(String accountNumber, long waitMs) {
+        // 아래 catch 에서 삼키지 않도록 try 밖에서 주입한다.
+        faultInjector.inject(FaultPoint.REDIS);
+        RLock lock = redissonClient.getLock(getLockKey(accountNumber));
 
         try {
-            boolean isLock = lock.tryLock(1, 15, TimeUnit.SECONDS);
+            boolean isLock = lock.tryLock(waitMs, leaseTimeMs, TimeUnit.MILLISECONDS);
             if(!isLock) {
                 log.error("======Lock acquisition failed=====");
                 throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
@@ -35,11 +160,43 @@ public class LockService {
         }
     }
 
-    public void unLock(String accountNumber) {
-        log.debug("unlock for account number: {}", accountNumber);
+    private void unLockRedis(String accountNumber) {
+        faultInjector.inject(FaultPoint.REDIS);
         redissonClient.getLock(getLockKey(accountNumber)).unlock();
     }
 
+    private void lockLocal(String accountNumber, long waitMs) {
+        try {
+            if (!getLocalLock(accountNumber).tryLock(waitMs, TimeUnit.MILLISECONDS)) {
+                log.error("======Local lock acquisition failed=====");
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+    }
+
+    private void unLockLocal(String accountNumber) {
+        ReentrantLock lock = getLocalLock(accountNumber);
+        if (lock.isHeldByCurrentThread()) {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock getLocalLock(String accountNumber) {
+        int hash = accountNumber.hashCode();
+        return localLocks[(hash ^ (hash >>> 16)) & (LOCAL_LOCK_STRIPES - 1)];
+    }
+
+    private static ReentrantLock[] createLocalLocks() {
+        ReentrantLock[] locks = new ReentrantLock[LOCAL_LOCK_STRIPES];
+        for (int i = 0; i < LOCAL_LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
     private static String getLockKey(String accountNumber) {
         return "ACLK:" + accountNumber;
     }
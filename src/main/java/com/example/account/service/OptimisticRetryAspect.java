@@ -0,0 +1,63 @@
+package com.example.account.service;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.OptimisticLockException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 계좌 버전 충돌 시 jitter 를 준 지수 backoff 후 재시도.
+ * 트랜잭션 어드바이저보다 먼저(바깥에서) 실행되어 시도마다 새 트랜잭션을 사용한다.
+ */
+@Aspect
+@Component
+@Slf4j
+@Order(1)
+public class OptimisticRetryAspect {
+    @Value("${account.optimistic.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${account.optimistic.base-backoff-ms:5}")
+    private long baseBackoffMs = 5L;
+
+    @Value("${account.optimistic.max-backoff-ms:100}")
+    private long maxBackoffMs = 100L;
+
+    @Around("@annotation(com.example.account.aop.OptimisticRetry)")
+    public Object aroundMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        // 바깥 트랜잭션에 참여한 경우에는 여기서 재시도할 수 없다.
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Optimistic lock retries exhausted: {}", joinPoint.getSignature().getName());
+                    Metrics.counter("account.optimistic.exhausted").increment();
+                    throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+                }
+                Metrics.counter("account.optimistic.retries").increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) throws InterruptedException {
+        long ceiling = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt - 1, 20));
+        Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+}
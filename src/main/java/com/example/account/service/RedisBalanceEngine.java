@@ -0,0 +1,294 @@
+package com.example.account.service;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.TransactionDto;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.FaultPoint;
+import com.example.account.type.TransactionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.example.account.type.TransactionResultType.SUCCESS;
+import static com.example.account.type.TransactionType.CANCEL_USE_BALANCE;
+import static com.example.account.type.TransactionType.USE_BALANCE;
+
+/**
+ * 잔액을 Redis hash(ACBAL:계좌번호) 에 두고 Lua 스크립트로 차감/복구하는 계좌 잔액 엔진.
+ * 상태 확인, 잔액 확인, 변경, 저널 기록까지 Redis 왕복 한 번에 끝나므로 계좌 락이 필요 없다.
+ * DB 반영은 RedisBalancePersister 가 저널을 모아서 처리한다.
+ * (관리 대상 계좌는 모든 서버에 같은 목록으로 설정해야 한다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisBalanceEngine implements SmartInitializingSingleton {
+    static final String JOURNAL_KEY = "ACBAL:JOURNAL";
+    private static final String BALANCE_KEY_PREFIX = "ACBAL:";
+    private static final String TRANSACTION_KEY_PREFIX = "ACTX:";
+    private static final String OK = "OK";
+
+    // KEYS: 잔액 hash, 저널, 거래 hash / ARGV: userId, amount, accountNumber, transactionId, transactedAt, ttl
+    private static final String USE_BALANCE_SCRIPT =
+            "local account = redis.call('HMGET', KEYS[1], 'userId', 'status', 'balance') " +
+            "if not account[1] then return {'ACCOUNT_NOT_FOUND'} end " +
+            "if account[1] ~= ARGV[1] then return {'USER_ACCOUNT_UN_MATCH'} end " +
+            "if account[2] ~= 'IN_USE' then return {'ACCOUNT_ALREADY_UNREGISTERED'} end " +
+            "local amount = tonumber(ARGV[2]) " +
+            "if tonumber(account[3]) < amount then return {'AMOUNT_EXCEED_BALANCE'} end " +
+            "if amount < 0 or amount > 2000000 then return {'INVALID_REQUEST'} end " +
+            "local balance = redis.call('HINCRBY', KEYS[1], 'balance', -amount) " +
+            "redis.call('RPUSH', KEYS[2], table.concat({'USE_BALANCE', ARGV[3], ARGV[2], balance, ARGV[4], ARGV[5], ARGV[1]}, '|')) " +
+            "redis.call('HMSET', KEYS[3], 'accountNumber', ARGV[3], 'amount', ARGV[2], 'transactedAt', ARGV[5]) " +
+            "redis.call('EXPIRE', KEYS[3], ARGV[6]) " +
+            "return {'OK', tostring(balance)}";
+
+    // KEYS: 잔액 hash, 저널 / ARGV: amount, accountNumber, transactionId, transactedAt
+    private static final String CANCEL_BALANCE_SCRIPT =
+            "local userId = redis.call('HGET', KEYS[1], 'userId') " +
+            "if not userId then return {'ACCOUNT_NOT_FOUND'} end " +
+            "local balance = redis.call('HINCRBY', KEYS[1], 'balance', ARGV[1]) " +
+            "redis.call('RPUSH', KEYS[2], table.concat({'CANCEL_USE_BALANCE', ARGV[2], ARGV[1], balance, ARGV[3], ARGV[4], userId}, '|')) " +
+            "return {'OK', tostring(balance)}";
+
+    // KEYS: 잔액 hash / 잔액이 남아있으면 해지하지 않는다.
+    private static final String UNREGISTER_SCRIPT =
+            "local balance = redis.call('HGET', KEYS[1], 'balance') " +
+            "if not balance then return {'OK'} end " +
+            "if tonumber(balance) > 0 then return {'BALANCE_IS_NOT_EMPTY'} end " +
+            "redis.call('HSET', KEYS[1], 'status', 'UNREGISTERED') " +
+            "return {'OK'}";
+
+    // KEYS: 잔액 hash / ARGV: userId, status, balance (이미 있으면 그대로 둔다)
+    private static final String LOAD_SCRIPT =
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return {'EXISTS'} end " +
+            "redis.call('HMSET', KEYS[1], 'userId', ARGV[1], 'status', ARGV[2], 'balance', ARGV[3]) " +
+            "return {'OK'}";
+
+    private final RedissonClient redissonClient;
+    private final AccountRepository accountRepository;
+    private final AccountUserRepository accountUserRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final RedisBalancePersister redisBalancePersister;
+    private final FaultInjector faultInjector;
+
+    @Value("${account.redis-balance.accounts:}")
+    private List<String> configuredAccounts = Collections.emptyList();
+
+    // 차감 거래 정보를 Redis 에 남겨두는 시간 (취소 시 DB 조회 생략)
+    @Value("${account.redis-balance.transaction-ttl-seconds:86400}")
+    private long transactionTtlSeconds = 86400;
+
+    private final Set<String> managedAccounts = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> scriptShas = new ConcurrentHashMap<>();
+
+    /**
+     * 저널에 남은 변경을 먼저 DB 에 반영한 뒤, Redis 에 없는 계좌의 잔액을 DB 에서 다시 올린다.
+     * 아직 DB 에 없는 계좌는 건너뛴다. (create-drop 으로 새로 띄운 경우 등)
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        redisBalancePersister.drain();
+        for (String accountNumber : configuredAccounts) {
+            if (accountNumber.isBlank()) {
+                continue;
+            }
+            try {
+                register(accountNumber.trim());
+            } catch (AccountException e) {
+                log.warn("Skipped redis balance account {}: {}", accountNumber.trim(), e.getErrorCode());
+            }
+        }
+        redisBalancePersister.start();
+    }
+
+    public boolean isManaged(String accountNumber) {
+        return !managedAccounts.isEmpty() && managedAccounts.contains(accountNumber);
+    }
+
+    /**
+     * 계좌를 엔진 관리 대상으로 추가. Redis 에 잔액이 없으면 DB 의 잔액을 올린다.
+     */
+    public void register(String accountNumber) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        List<Object> result = eval(LOAD_SCRIPT,
+                Collections.singletonList(balanceKey(accountNumber)),
+                String.valueOf(account.getAccountUser().getId()),
+                account.getAccountStatus().name(),
+                String.valueOf(account.getBalance()));
+        if (OK.equals(result.get(0))) {
+            log.info("Loaded balance of account {} into redis", accountNumber);
+        }
+        managedAccounts.add(accountNumber);
+    }
+
+    public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
+        accountUserRepository.findById(userId)
+                .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+
+        String transactionId = transactionIdGenerator.generate();
+        LocalDateTime transactedAt = LocalDateTime.now();
+        List<Object> result = eval(USE_BALANCE_SCRIPT,
+                Arrays.asList(balanceKey(accountNumber), JOURNAL_KEY, transactionKey(transactionId)),
+                String.valueOf(userId), String.valueOf(amount), accountNumber,
+                transactionId, transactedAt.toString(), String.valueOf(transactionTtlSeconds));
+
+        return toDto(result, USE_BALANCE, accountNumber, amount, transactionId, transactedAt);
+    }
+
+    public TransactionDto cancelBalance(String originalTransactionId, String accountNumber, Long amount) {
+        validateCancelBalance(originalTransactionId, accountNumber, amount);
+
+        String transactionId = transactionIdGenerator.generate();
+        LocalDateTime transactedAt = LocalDateTime.now();
+        List<Object> result = eval(CANCEL_BALANCE_SCRIPT,
+                Arrays.asList(balanceKey(accountNumber), JOURNAL_KEY),
+                String.valueOf(amount), accountNumber, transactionId, transactedAt.toString());
+
+        return toDto(result, CANCEL_USE_BALANCE, accountNumber, amount, transactionId, transactedAt);
+    }
+
+    public Optional<Long> getBalance(String accountNumber) {
+        if (!isManaged(accountNumber)) {
+            return Optional.empty();
+        }
+        faultInjector.inject(FaultPoint.REDIS);
+        Object balance = redissonClient.getMap(balanceKey(accountNumber), StringCodec.INSTANCE)
+                .get("balance");
+        return Optional.ofNullable(balance).map(value -> Long.valueOf((String) value));
+    }
+
+    /**
+     * 계좌 해지. 트랜잭션 안에서 호출하면 DB 커밋 뒤에 Redis 에 반영한다.
+     * (롤백되면 Redis 는 그대로 IN_USE 로 남는다)
+     * 트랜잭션 밖에서 호출하면 바로 반영하고, 잔액이 남아있으면 BALANCE_IS_NOT_EMPTY.
+     */
+    public void unregister(String accountNumber) {
+        if (!isManaged(accountNumber)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            unregisterNow(accountNumber);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        try {
+                            unregisterNow(accountNumber);
+                        } catch (RuntimeException e) {
+                            // 잔액 확인 뒤 커밋 전에 취소가 들어온 경우, DB 는 이미 해지되었으므로 확인 필요
+                            log.error("Failed to unregister redis balance account {}", accountNumber, e);
+                        }
+                    }
+                });
+    }
+
+    private void unregisterNow(String accountNumber) {
+        List<Object> result = eval(UNREGISTER_SCRIPT,
+                Collections.singletonList(balanceKey(accountNumber)));
+        if (!OK.equals(result.get(0))) {
+            throw new AccountException(ErrorCode.valueOf((String) result.get(0)));
+        }
+    }
+
+    private void validateCancelBalance(String transactionId, String accountNumber, Long amount) {
+        faultInjector.inject(FaultPoint.REDIS);
+        Map<Object, Object> cached = redissonClient
+                .getMap(transactionKey(transactionId), StringCodec.INSTANCE).readAllMap();
+
+        String originalAccountNumber;
+        Long originalAmount;
+        LocalDateTime originalTransactedAt;
+        if (!cached.isEmpty()) {
+            originalAccountNumber = (String) cached.get("accountNumber");
+            originalAmount = Long.valueOf((String) cached.get("amount"));
+            originalTransactedAt = LocalDateTime.parse((String) cached.get("transactedAt"));
+        } else {
+            Transaction transaction = transactionRepository.findWithAccountByTransactionId(transactionId)
+                    .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
+            originalAccountNumber = transaction.getAccount().getAccountNumber();
+            originalAmount = transaction.getAmount();
+            originalTransactedAt = transaction.getTransactedAt();
+        }
+
+        if (!Objects.equals(originalAccountNumber, accountNumber)) {
+            throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UN_MATCH);
+        }
+        if (!Objects.equals(amount, originalAmount)) {
+            throw new AccountException(ErrorCode.TRANSACTION_AMOUNT_DIFFERENT);
+        }
+        if (originalTransactedAt.isBefore(LocalDateTime.now().minusYears(1))) {
+            throw new AccountException(ErrorCode.TRANSACTION_OUTDATED);
+        }
+        if (amount < 0 || amount > 2000000) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+    }
+
+    private TransactionDto toDto(List<Object> result, TransactionType transactionType,
+                                 String accountNumber, Long amount,
+                                 String transactionId, LocalDateTime transactedAt) {
+        String code = (String) result.get(0);
+        if (!OK.equals(code)) {
+            throw new AccountException(ErrorCode.valueOf(code));
+        }
+        return TransactionDto.builder()
+                .transactionType(transactionType)
+                .transactionResultType(SUCCESS)
+                .accountNumber(accountNumber)
+                .amount(amount)
+                .balanceSnapshot(Long.valueOf((String) result.get(1)))
+                .transactionId(transactionId)
+                .transactedAt(transactedAt)
+                .build();
+    }
+
+    /**
+     * EVALSHA 로 실행하고, 서버에 스크립트가 없으면(NOSCRIPT) 다시 올려서 한 번 더 실행.
+     */
+    private List<Object> eval(String script, List<Object> keys, Object... args) {
+        faultInjector.inject(FaultPoint.REDIS);
+        RScript rScript = redissonClient.getScript(StringCodec.INSTANCE);
+        String sha = scriptShas.computeIfAbsent(script, rScript::scriptLoad);
+        try {
+            return rScript.evalSha(RScript.Mode.READ_WRITE, sha, RScript.ReturnType.MULTI, keys, args);
+        } catch (RedisException e) {
+            if (e.getMessage() == null || !e.getMessage().contains("NOSCRIPT")) {
+                throw e;
+            }
+            sha = rScript.scriptLoad(script);
+            scriptShas.put(script, sha);
+            return rScript.evalSha(RScript.Mode.READ_WRITE, sha, RScript.ReturnType.MULTI, keys, args);
+        }
+    }
+
+    private static String balanceKey(String accountNumber) {
+        return BALANCE_KEY_PREFIX + accountNumber;
+    }
+
+    private static String transactionKey(String transactionId) {
+        return TRANSACTION_KEY_PREFIX + transactionId;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.account.service;
+
+import com.example.account.dto.BalanceJournalEntry;
+import com.example.account.repository.TransactionJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RList;
+import org.redisson.api.RLock;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 잔액 엔진의 저널을 모아서 Account / Transaction 테이블에 반영한다.
+ * 여러 서버 중 락(ACBAL:PERSISTER)을 잡은 한 곳에서만 처리하고,
+ * DB 반영이 끝난 만큼만 저널에서 지운다. (중간에 죽으면 같은 기록을 다시 반영하므로 거래 ID 로 중복을 거른다)
+ * 락은 watchdog 으로 갱신하므로 반영이 오래 걸려도 다른 서버가 끼어들지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisBalancePersister {
+    private static final String PERSISTER_LOCK_KEY = "ACBAL:PERSISTER";
+
+    // KEYS: 저널 / ARGV: 읽은 기록 수, 첫 기록, 마지막 기록
+    // 읽은 구간이 그대로 저널 앞에 있을 때만 지운다. (다른 서버가 먼저 지웠으면 0)
+    private static final String TRIM_SCRIPT =
+            "local count = tonumber(ARGV[1]) " +
+            "if redis.call('LINDEX', KEYS[1], 0) ~= ARGV[2] " +
+            "or redis.call('LINDEX', KEYS[1], count - 1) ~= ARGV[3] then return 0 end " +
+            "redis.call('LTRIM', KEYS[1], count, -1) " +
+            "return 1";
+
+    private final RedissonClient redissonClient;
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final AccountCache accountCache;
+
+    @Value("${account.redis-balance.persist-batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${account.redis-balance.persist-interval-ms:200}")
+    private long intervalMs = 200;
+
+    private ScheduledExecutorService scheduler;
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-balance-persister");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::drainQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 남은 저널을 모두 반영한 뒤 종료.
+     */
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+            scheduler = null;
+        }
+        drainQuietly();
+    }
+
+    /**
+     * 저널을 비울 때까지 배치 단위로 DB 에 반영.
+     * 다른 서버가 반영 중이면 바로 0 을 돌려준다.
+     *
+     * @return 반영한 기록 수
+     */
+    public int drain() {
+        RLock lock = redissonClient.getLock(PERSISTER_LOCK_KEY);
+        boolean locked;
+        try {
+            locked = lock.tryLock(0, -1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+        if (!locked) {
+            return 0;
+        }
+
+        try {
+            RList<String> journal = redissonClient.getList(RedisBalanceEngine.JOURNAL_KEY, StringCodec.INSTANCE);
+            RScript script = redissonClient.getScript(StringCodec.INSTANCE);
+            int persisted = 0;
+            while (true) {
+                List<String> lines = journal.range(0, batchSize - 1);
+                if (lines.isEmpty()) {
+                    return persisted;
+                }
+
+                List<BalanceJournalEntry> entries = new ArrayList<>(lines.size());
+                Set<Long> userIds = new LinkedHashSet<>();
+                for (String line : lines) {
+                    BalanceJournalEntry entry = BalanceJournalEntry.parse(line);
+                    entries.add(entry);
+                    userIds.add(entry.getUserId());
+                }
+
+                transactionJdbcRepository.persistJournal(entries);
+                userIds.forEach(accountCache::evict);
+                Long trimmed = script.eval(RScript.Mode.READ_WRITE, TRIM_SCRIPT, RScript.ReturnType.INTEGER,
+                        Collections.singletonList(RedisBalanceEngine.JOURNAL_KEY),
+                        String.valueOf(lines.size()), lines.get(0), lines.get(lines.size() - 1));
+                if (trimmed == null || trimmed == 0L) {
+                    // 락을 잃은 사이 다른 서버가 반영하고 지웠다. 남은 것은 그 서버가 처리한다.
+                    log.warn("Redis balance journal was trimmed by another persister");
+                    return persisted;
+                }
+                persisted += lines.size();
+            }
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            log.error("Failed to persist redis balance journal", e);
+        }
+    }
+}
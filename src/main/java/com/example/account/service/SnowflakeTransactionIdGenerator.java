@@ -0,0 +1,67 @@
+package com.example.account.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 시간 순으로 증가하는 64bit 거래 ID (Snowflake 방식).
+ * [41bit 타임스탬프(ms)][10bit 노드 ID][12bit 시퀀스] 를
+ * 정렬 순서가 유지되는 13자리 base32 문자열로 인코딩한다.
+ * 새로 발급되는 ID가 항상 기존 ID보다 커서 transaction_id 인덱스에 뒤로만 추가된다.
+ */
+public class SnowflakeTransactionIdGenerator implements TransactionIdGenerator {
+    // 2024-01-01T00:00:00Z
+    private static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // ASCII 순서대로 나열된 base32 문자 (Crockford, 소문자)
+    private static final char[] ALPHABET = "0123456789abcdefghjkmnpqrstvwxyz".toCharArray();
+    static final int ENCODED_LENGTH = 13;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    // (타임스탬프 << SEQUENCE_BITS) | 시퀀스
+    private final AtomicLong lastState = new AtomicLong();
+
+    public SnowflakeTransactionIdGenerator(long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeTransactionIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException(
+                    "node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    @Override
+    public String generate() {
+        return encode(nextId());
+    }
+
+    long nextId() {
+        long candidate = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        // 같은 ms 안에서는 시퀀스 증가, 시계가 뒤로 가더라도 마지막 값보다 작아지지 않음
+        long state = lastState.accumulateAndGet(candidate,
+                (last, next) -> Math.max(next, last + 1));
+
+        long timestamp = state >>> SEQUENCE_BITS;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS))
+                | (nodeId << SEQUENCE_BITS)
+                | (state & SEQUENCE_MASK);
+    }
+
+    static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+}
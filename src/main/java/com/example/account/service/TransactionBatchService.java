@@ -0,0 +1,108 @@
+package com.example.account.service;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
+import com.example.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionBatchService {
+    private final AccountLockTemplate accountLockTemplate;
+    private final TransactionService transactionService;
+    private final AccountSerialExecutor accountSerialExecutor;
+    private final AccountSlotService accountSlotService;
+
+    /**
+     * 요청을 계좌번호 별로 묶고
+     * 계좌 당 한 번만 락을 잡은 뒤(SERIAL 이면 실행 큐에서) 하나의 트랜잭션으로 처리.
+     * 결과는 요청 순서 그대로 돌려준다.
+     */
+    public List<UseBalanceBatch.Result> useBalanceBatch(List<UseBalance.Request> requests) {
+        Map<String, List<Integer>> indexesByAccount = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            indexesByAccount
+                    .computeIfAbsent(requests.get(i).getAccountNumber(), k -> new ArrayList<>())
+                    .add(i);
+        }
+
+        UseBalanceBatch.Result[] results = new UseBalanceBatch.Result[requests.size()];
+        indexesByAccount.forEach((accountNumber, indexes) -> {
+            List<UseBalance.Request> group = new ArrayList<>(indexes.size());
+            for (Integer index : indexes) {
+                group.add(requests.get(index));
+            }
+
+            List<UseBalanceBatch.Result> groupResults = useBalanceGroup(accountNumber, group);
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = groupResults.get(i);
+            }
+        });
+
+        return Arrays.asList(results);
+    }
+
+    private List<UseBalanceBatch.Result> useBalanceGroup(String accountNumber,
+                                                         List<UseBalance.Request> group) {
+        if (accountSlotService.isSharded(accountNumber)) {
+            return useBalanceGroupSlots(accountNumber, group);
+        }
+
+        List<UseBalanceBatch.Result> results = useBalanceGroupUnsharded(accountNumber, group);
+        // 다른 서버에서 방금 분할된 계좌는 그룹 전체가 ACCOUNT_SHARDED 로 거절된다.
+        if (results.get(0).getErrorCode() == ErrorCode.ACCOUNT_SHARDED
+                && accountSlotService.reload(accountNumber)) {
+            return useBalanceGroupSlots(accountNumber, group);
+        }
+        return results;
+    }
+
+    /**
+     * 단건 잔액 사용과 같은 방식으로 계좌 별 순서를 보장한다.
+     * SERIAL 이면 계좌 실행 큐에서, 아니면 @AccountLock 과 같은 규칙으로 락을 잡고 처리.
+     */
+    private List<UseBalanceBatch.Result> useBalanceGroupUnsharded(String accountNumber,
+                                                                  List<UseBalance.Request> group) {
+        try {
+            return accountSerialExecutor.isEnabled()
+                    ? accountSerialExecutor.execute(accountNumber,
+                            () -> transactionService.useBalanceGroup(accountNumber, group))
+                    : accountLockTemplate.execute(accountNumber,
+                            () -> transactionService.useBalanceGroup(accountNumber, group));
+        } catch (AccountException e) {
+            return failures(group.size(), e.getErrorCode());
+        } catch (RuntimeException e) {
+            log.error("Failed to use balance batch for account number: {}", accountNumber, e);
+            return failures(group.size(), ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // 분할 계좌는 항목마다 슬롯을 골라서 처리
+    private List<UseBalanceBatch.Result> useBalanceGroupSlots(String accountNumber,
+                                                              List<UseBalance.Request> group) {
+        List<UseBalanceBatch.Result> results = new ArrayList<>(group.size());
+        for (UseBalance.Request request : group) {
+            try {
+                results.add(UseBalanceBatch.Result.success(accountSlotService.useBalance(
+                        request.getUserId(), accountNumber, request.getAmount())));
+            } catch (AccountException e) {
+                transactionService.saveFailedUseTransaction(accountNumber, request.getAmount());
+                results.add(UseBalanceBatch.Result.failure(e.getErrorCode()));
+            } catch (RuntimeException e) {
+                log.error("Failed to use balance batch for account number: {}", accountNumber, e);
+                results.add(UseBalanceBatch.Result.failure(ErrorCode.INTERNAL_SERVER_ERROR));
+            }
+        }
+        return results;
+    }
+
+    private static List<UseBalanceBatch.Result> failures(int size, ErrorCode errorCode) {
+        return Collections.nCopies(size, UseBalanceBatch.Result.failure(errorCode));
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.account.service;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.ExportFormat;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 계좌의 거래 내역을 기간 단위로 내보내기.
+ * 엔티티로 읽지 않고 forward-only 커서에서 한 줄씩 바로 응답 스트림에 쓰기 때문에
+ * 건수와 상관없이 메모리 사용량이 일정하다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionExportService {
+    // RepositoryQueryPlanTest 에서 같은 SQL 로 인덱스 사용을 확인한다.
+    public static final String EXPORT_QUERY =
+            "select transaction_id, transaction_type, transaction_result_type, " +
+                    "amount, balance_snapshot, transacted_at " +
+                    "from transaction " +
+                    "where account_id = ? and transacted_at >= ? and transacted_at < ? " +
+                    "order by transacted_at, id";
+    private static final String CSV_HEADER =
+            "transactionId,transactionType,transactionResultType,amount,balanceSnapshot,transactedAt";
+    // 줄 단위 JSON 이므로 루트 값 사이의 기본 구분자(공백)는 쓰지 않는다.
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .setRootValueSeparator(null);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountRepository accountRepository;
+
+    @Value("${account.export.fetch-size:1000}")
+    private int fetchSize = 1000;
+
+    public Long getAccountId(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND))
+                .getId();
+    }
+
+    /**
+     * [from, to) 기간의 거래를 거래 일시 순으로 out 에 쓴다.
+     *
+     * @return 내보낸 거래 건수
+     */
+    @Transactional(readOnly = true)
+    public long export(Long accountId, LocalDateTime from, LocalDateTime to,
+                       ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowWriter rowWriter = format == ExportFormat.CSV
+                ? new CsvRowWriter(writer)
+                : new NdjsonRowWriter(JSON_FACTORY.createGenerator(writer));
+
+        long[] count = new long[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(EXPORT_QUERY,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, accountId);
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+            ps.setTimestamp(3, Timestamp.valueOf(to));
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            try {
+                rowWriter.write(rs);
+                count[0]++;
+            } catch (IOException e) {
+                // 클라이언트가 연결을 끊은 경우 커서를 닫고 중단
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        rowWriter.finish();
+        writer.flush();
+        return count[0];
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    @RequiredArgsConstructor
+    private static class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeStringField("transactionId", rs.getString(1));
+            generator.writeStringField("transactionType", rs.getString(2));
+            generator.writeStringField("transactionResultType", rs.getString(3));
+            generator.writeNumberField("amount", rs.getLong(4));
+            generator.writeNumberField("balanceSnapshot", rs.getLong(5));
+            generator.writeStringField("transactedAt",
+                    rs.getTimestamp(6).toLocalDateTime().toString());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            // 모든 컬럼이 영문/숫자라 따옴표 처리가 필요 없다.
+            writer.write(rs.getString(1));
+            writer.write(',');
+            writer.write(rs.getString(2));
+            writer.write(',');
+            writer.write(rs.getString(3));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong(4)));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong(5)));
+            writer.write(',');
+            writer.write(rs.getTimestamp(6).toLocalDateTime().toString());
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() {
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.account.service;
+
+/**
+ * 거래 ID 발급기.
+ * 구현체는 account.transaction-id.type 설정으로 선택 (TransactionIdConfig 참고)
+ */
+public interface TransactionIdGenerator {
+    String generate();
+}
@@ -1,25 +1,36 @@
 package com.example.account.service;
 
 import com.example.account.Exception.AccountException;
+import com.example.account.aop.OptimisticRetry;
 import com.example.account.domain.Account;
+import com.example.account.domain.AccountSlot;
 import com.example.account.domain.AccountUser;
 import com.example.account.domain.Transaction;
+import com.example.account.dto.TransactionCursor;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionHistoryItem;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
 import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountSlotRepository;
 import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.TransactionJdbcRepository;
 import com.example.account.repository.TransactionRepository;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
+import com.example.account.type.LockMode;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.*;
 
 import static com.example.account.type.TransactionResultType.FAILED;
 import static com.example.account.type.TransactionResultType.SUCCESS;
@@ -29,12 +40,33 @@ import static com.example.account.type.TransactionType.*;
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
+    // 메서드 별 실행 시간 (class, method 태그)
+    private static final String SERVICE_TIMER = "account.service";
+    private static final int ATOMIC_DEBIT_ATTEMPTS = 3;
+
     private final AccountUserRepository accountUserRepository;
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final AccountCache accountCache;
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final RedisBalanceEngine redisBalanceEngine;
+    private final AccountSlotRepository accountSlotRepository;
+
+    @Value("${account.lock.mode:REDIS}")
+    private LockMode lockMode = LockMode.REDIS;
 
+    @OptimisticRetry
+    @Timed(SERVICE_TIMER)
     @Transactional
     public TransactionDto useBalance(Long useId, String accountNumber, Long amount) {
+        if (redisBalanceEngine.isManaged(accountNumber)) {
+            return redisBalanceEngine.useBalance(useId, accountNumber, amount);
+        }
+        if (lockMode == LockMode.ATOMIC) {
+            return atomicUseBalance(useId, accountNumber, amount);
+        }
+
         AccountUser accountUser = accountUserRepository.findById(useId).
                 orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
         Account account = accountRepository.findByAccountNumber(accountNumber).
@@ -43,6 +75,7 @@ public class TransactionService {
         validatedUseBalance(accountUser, account, amount);
 
         account.useBalance(amount);
+        accountCache.evict(account);
         // 중요한 데이터를 변경할 필요가 있을 때는 데이터를 직접 가져와서 변경하는 것보다는 직접 해당
         // 데이터안에서 변경되도록 하는 것이 바람직.
 
@@ -50,6 +83,196 @@ public class TransactionService {
                 getSaveAndGetTransaction(USE_BALANCE, SUCCESS, account, amount));
     }
 
+    /**
+     * 같은 계좌에 대한 여러 건의 잔액 사용을 하나의 트랜잭션으로 처리.
+     * 항목 별 실패는 예외로 던지지 않고 결과에 담아 나머지 항목은 계속 처리한다.
+     * (호출하는 쪽에서 해당 계좌의 락을 잡고 있어야 함)
+     */
+    @OptimisticRetry
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    public List<UseBalanceBatch.Result> useBalanceGroup(String accountNumber,
+                                                        List<UseBalance.Request> requests) {
+        Account account = accountRepository.findByAccountNumber(accountNumber).
+                orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        validateNotSharded(account);
+        if (redisBalanceEngine.isManaged(accountNumber)) {
+            return redisUseBalanceGroup(account, requests);
+        }
+
+        Map<Long, Optional<AccountUser>> accountUsers = new HashMap<>();
+        List<UseBalanceBatch.Result> results = new ArrayList<>(requests.size());
+        boolean used = false;
+        for (UseBalance.Request request : requests) {
+            try {
+                AccountUser accountUser = accountUsers
+                        .computeIfAbsent(request.getUserId(), accountUserRepository::findById)
+                        .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+
+                validatedUseBalance(accountUser, account, request.getAmount());
+
+                account.useBalance(request.getAmount());
+                used = true;
+
+                results.add(UseBalanceBatch.Result.success(TransactionDto.fromEntity(
+                        getSaveAndGetTransaction(USE_BALANCE, SUCCESS, account, request.getAmount()))));
+            } catch (AccountException e) {
+                getSaveAndGetTransaction(USE_BALANCE, FAILED, account, request.getAmount());
+                results.add(UseBalanceBatch.Result.failure(e.getErrorCode()));
+            }
+        }
+        // 항목마다 지우지 않고 그룹 당 한 번만 (같은 사용자의 계좌)
+        if (used) {
+            accountCache.evict(account);
+        }
+        return results;
+    }
+
+    /**
+     * Redis 잔액 엔진 계좌는 항목 별로 엔진에서 차감하고 실패 거래만 여기서 저장한다.
+     * (실패 거래의 잔액 스냅샷은 DB 에 반영된 잔액)
+     */
+    private List<UseBalanceBatch.Result> redisUseBalanceGroup(Account account,
+                                                              List<UseBalance.Request> requests) {
+        List<UseBalanceBatch.Result> results = new ArrayList<>(requests.size());
+        for (UseBalance.Request request : requests) {
+            try {
+                results.add(UseBalanceBatch.Result.success(redisBalanceEngine.useBalance(
+                        request.getUserId(), account.getAccountNumber(), request.getAmount())));
+            } catch (AccountException e) {
+                getSaveAndGetTransaction(USE_BALANCE, FAILED, account, request.getAmount());
+                results.add(UseBalanceBatch.Result.failure(e.getErrorCode()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 계좌를 먼저 읽지 않고 조건부 UPDATE 로 차감.
+     * 실패했을 때만 계좌를 조회해서 실패 원인을 찾는다.
+     */
+    private TransactionDto atomicUseBalance(Long userId, String accountNumber, Long amount) {
+        for (int attempt = 0; attempt < ATOMIC_DEBIT_ATTEMPTS; attempt++) {
+            boolean validAmount = amount >= 0 && amount <= 2000000L;
+            if (validAmount && transactionJdbcRepository.debit(accountNumber, userId, amount)) {
+                String transactionId = transactionIdGenerator.generate();
+                LocalDateTime transactedAt = LocalDateTime.now();
+                transactionJdbcRepository.insertTransaction(USE_BALANCE, SUCCESS,
+                        accountNumber, amount, transactionId, transactedAt);
+                accountCache.evict(userId);
+
+                // 잔액 스냅샷은 DB 에만 기록 (응답에는 사용하지 않음)
+                return TransactionDto.builder()
+                        .transactionType(USE_BALANCE)
+                        .transactionResultType(SUCCESS)
+                        .accountNumber(accountNumber)
+                        .amount(amount)
+                        .transactionId(transactionId)
+                        .transactedAt(transactedAt)
+                        .build();
+            }
+
+            AccountUser accountUser = accountUserRepository.findById(userId).
+                    orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+            Account account = accountRepository.findByAccountNumber(accountNumber).
+                    orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+            if (attempt > 0) {
+                // 이전 시도에서 읽은 엔티티가 영속성 컨텍스트에 남아 있으므로 바뀐 잔액을 다시 읽는다.
+                accountRepository.refresh(account);
+            }
+            validatedUseBalance(accountUser, account, amount);
+            // 검증을 통과했다면 그 사이 잔액이 바뀐 경우이므로 다시 시도
+        }
+        throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    }
+
+    /**
+     * 분할 계좌의 슬롯 하나에서 차감. 슬롯 잔액이 부족하면 empty.
+     * (호출하는 쪽에서 해당 슬롯의 락을 잡고 있어야 함)
+     */
+    @OptimisticRetry
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    public Optional<TransactionDto> useSlotBalance(Long userId, String accountNumber,
+                                                   int slotIndex, Long amount) {
+        AccountUser accountUser = accountUserRepository.findById(userId).
+                orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+        Account account = accountRepository.findByAccountNumber(accountNumber).
+                orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        validatedUseAccount(accountUser, account);
+        if (amount < 0 || amount > 2000000L) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+
+        AccountSlot slot = getAccountSlot(account, slotIndex);
+        if (slot.getBalance() < amount) {
+            return Optional.empty();
+        }
+        slot.useBalance(amount);
+        accountCache.evict(account);
+
+        return Optional.of(TransactionDto.fromEntity(getSaveAndGetTransaction(USE_BALANCE, SUCCESS,
+                account, amount, accountSlotRepository.sumBalance(account))));
+    }
+
+    /**
+     * 한 슬롯의 잔액으로 부족할 때 여러 슬롯에서 나눠서 차감.
+     * (호출하는 쪽에서 해당 계좌의 모든 슬롯 락을 잡고 있어야 함)
+     */
+    @OptimisticRetry
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    public TransactionDto useSlotsBalance(Long userId, String accountNumber, Long amount) {
+        AccountUser accountUser = accountUserRepository.findById(userId).
+                orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+        Account account = accountRepository.findByAccountNumber(accountNumber).
+                orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        List<AccountSlot> slots = accountSlotRepository.findAllByAccountOrderBySlotIndex(account);
+        long total = slots.stream().mapToLong(AccountSlot::getBalance).sum();
+
+        validatedUseBalance(accountUser, account, total, amount);
+
+        long remaining = amount;
+        for (AccountSlot slot : slots) {
+            long used = Math.min(slot.getBalance(), remaining);
+            slot.useBalance(used);
+            remaining -= used;
+        }
+        accountCache.evict(account);
+
+        return TransactionDto.fromEntity(getSaveAndGetTransaction(USE_BALANCE, SUCCESS,
+                account, amount, total - amount));
+    }
+
+    /**
+     * 분할 계좌의 슬롯 하나로 거래 취소 금액을 돌려준다.
+     * (호출하는 쪽에서 해당 슬롯의 락을 잡고 있어야 함)
+     */
+    @OptimisticRetry
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    public TransactionDto cancelSlotBalance(String transactionId, String accountNumber,
+                                            int slotIndex, Long amount) {
+        Transaction transaction = transactionRepository.findWithAccountByTransactionId(transactionId)
+                .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
+        Account account = accountRepository.findByAccountNumber(accountNumber).
+                orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        validatedCancelBalance(transaction, account, amount);
+
+        getAccountSlot(account, slotIndex).cancelBalance(amount);
+        accountCache.evict(account);
+
+        return TransactionDto.fromEntity(getSaveAndGetTransaction(CANCEL_USE_BALANCE, SUCCESS,
+                account, amount, accountSlotRepository.sumBalance(account)));
+    }
+
+    private AccountSlot getAccountSlot(Account account, int slotIndex) {
+        return accountSlotRepository.findByAccountAndSlotIndex(account, slotIndex)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+    }
+
+    @Timed(SERVICE_TIMER)
     @Transactional
     public void saveFailedUseTransaction(String accountNumber, Long amount) {
         Account account = accountRepository.findByAccountNumber(accountNumber).
@@ -59,13 +282,22 @@ public class TransactionService {
     }
 
     private void validatedUseBalance(AccountUser accountUser, Account account, Long amount) {
-        if (!Objects.equals(accountUser.getId(), account.getAccountUser().getId())) {
-            throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
-        }
-        if (account.getAccountStatus() != AccountStatus.IN_USE) {
-            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        validateNotSharded(account);
+        validatedUseBalance(accountUser, account, account.getBalance(), amount);
+    }
+
+    // 분할 여부는 서버 별 AccountSlotService 캐시가 아니라 DB 를 기준으로 확인한다.
+    // (다른 서버에서 방금 분할했거나, 분할하는 동안 계좌 락을 기다렸던 요청)
+    private static void validateNotSharded(Account account) {
+        if (account.isSharded()) {
+            throw new AccountException(ErrorCode.ACCOUNT_SHARDED);
         }
-        if (account.getBalance() < amount) {
+    }
+
+    private void validatedUseBalance(AccountUser accountUser, Account account,
+                                     long balance, Long amount) {
+        validatedUseAccount(accountUser, account);
+        if (balance < amount) {
             throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
         }
         if (amount < 0 || amount > 2000000L) {
@@ -73,21 +305,38 @@ public class TransactionService {
         }
     }
 
+    private void validatedUseAccount(AccountUser accountUser, Account account) {
+        if (!Objects.equals(accountUser.getId(), account.getAccountUser().getId())) {
+            throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
+        }
+        if (account.getAccountStatus() != AccountStatus.IN_USE) {
+            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+    }
+
+    @OptimisticRetry
+    @Timed(SERVICE_TIMER)
     @Transactional
     public TransactionDto cancelBalance(String transactionId, String accountNumber, Long amount) {
-        Transaction transaction = transactionRepository.findByTransactionId(transactionId)
+        if (redisBalanceEngine.isManaged(accountNumber)) {
+            return redisBalanceEngine.cancelBalance(transactionId, accountNumber, amount);
+        }
+        Transaction transaction = transactionRepository.findWithAccountByTransactionId(transactionId)
                 .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
         Account account = accountRepository.findByAccountNumber(accountNumber).
                 orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
 
         validatedCancelBalance(transaction, account, amount);
+        validateNotSharded(account);
 
         account.cancelBalance(amount);
+        accountCache.evict(account);
 
         return TransactionDto.fromEntity(
                 getSaveAndGetTransaction(CANCEL_USE_BALANCE, SUCCESS, account, amount));
     }
 
+    @Timed(SERVICE_TIMER)
     @Transactional
     public void saveFailedCancelTransaction(String accountNumber, Long amount) {
         Account account = accountRepository.findByAccountNumber(accountNumber).
@@ -115,22 +364,51 @@ public class TransactionService {
                                                 TransactionResultType transactionResultType,
                                                 Account account,
                                                 Long amount) {
+        return getSaveAndGetTransaction(transactionType, transactionResultType,
+                account, amount, account.getBalance());
+    }
+
+    public Transaction getSaveAndGetTransaction(TransactionType transactionType,
+                                                TransactionResultType transactionResultType,
+                                                Account account,
+                                                Long amount,
+                                                Long balanceSnapshot) {
         return transactionRepository.save(
                 Transaction.builder()
                         .transactionType(transactionType)
                         .transactionResultType(transactionResultType)
                         .account(account)
                         .amount(amount)
-                        .balanceSnapshot(account.getBalance())
+                        .balanceSnapshot(balanceSnapshot)
                         .transactedAt(LocalDateTime.now())
-                        .transactionId(UUID.randomUUID().toString().replace("-", ""))
+                        .transactionId(transactionIdGenerator.generate())
                         .build()
         );
     }
 
-    @Transactional
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
     public TransactionDto queryTransaction (String transactionId) {
-        return TransactionDto.fromEntity(transactionRepository.findByTransactionId(transactionId)
-                .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND)));
+        return transactionRepository.findDtoByTransactionId(transactionId)
+                .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
+    }
+
+    /**
+     * 계좌의 거래 내역을 커서 이후부터 최신 순으로 limit 건 조회.
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public List<TransactionHistoryItem> getTransactionHistory(String accountNumber,
+                                                              TransactionType transactionType,
+                                                              TransactionResultType transactionResultType,
+                                                              TransactionCursor cursor,
+                                                              int limit) {
+        Account account = accountRepository.findByAccountNumber(accountNumber).
+                orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        return transactionRepository.findHistory(account.getId(),
+                cursor.getTransactedAt(), cursor.getId(),
+                transactionType, transactionResultType,
+                PageRequest.of(0, limit));
     }
 }
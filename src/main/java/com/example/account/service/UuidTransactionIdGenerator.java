@@ -0,0 +1,14 @@
+package com.example.account.service;
+
+import java.util.UUID;
+
+/**
+ * 기존 방식의 32자리 UUID 거래 ID.
+ */
+public class UuidTransactionIdGenerator implements TransactionIdGenerator {
+
+    @Override
+    public String generate() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+}
@@ -21,6 +21,8 @@ public enum ErrorCode {
     TRANSACTION_ACCOUNT_UN_MATCH("요청 거래 내역의 계좌와 계좌번호와 다릅니다."),
     TRANSACTION_AMOUNT_DIFFERENT("요청 거래 금액과 거래 취소 금액과 다릅니다."),
     TRANSACTION_OUTDATED("요청 거래 일자가 1년이 지났습니다."),
+    IDEMPOTENCY_KEY_IN_PROGRESS("같은 Idempotency-Key 요청이 처리 중입니다."),
+    ACCOUNT_SHARDED("분할된 계좌입니다. 다시 시도해 주세요."),
     ;
 
 
@@ -0,0 +1,15 @@
+package com.example.account.type;
+
+/**
+ * 지연 / 에러를 주입할 수 있는 지점 (FaultInjector)
+ */
+public enum FaultPoint {
+    // 계좌 락을 잡기 전 (@AccountLock 메서드 진입)
+    BEFORE_LOCK,
+    // 계좌 락을 잡은 뒤 거래 처리 전 (잔액 사용 / 취소 컨트롤러)
+    INSIDE_LOCK,
+    // 리포지토리(Spring Data, TransactionJdbcRepository) 호출 전
+    REPOSITORY,
+    // Redis 호출 전 (계좌 락 획득/해제, 캐시 무효화 전파, 잔액 엔진 스크립트/조회, 멱등 키)
+    REDIS
+}
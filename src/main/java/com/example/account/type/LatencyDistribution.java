@@ -0,0 +1,12 @@
+package com.example.account.type;
+
+public enum LatencyDistribution {
+    // 지연 없음 (에러만 주입)
+    NONE,
+    // 항상 latencyMs
+    FIXED,
+    // latencyMs ~ maxLatencyMs 사이 균등 분포
+    UNIFORM,
+    // 평균 latencyMs 의 지수 분포 (maxLatencyMs 가 있으면 그 이하로 자름), 가끔 긴 지연이 생기는 꼬리 재현
+    EXPONENTIAL
+}
@@ -0,0 +1,21 @@
+package com.example.account.type;
+
+public enum LockMode {
+    // Redis(Redisson) 분산 락만 사용
+    REDIS,
+    // JVM 내부 락만 사용 (단일 인스턴스 배포용)
+    LOCAL,
+    // JVM 내부 락을 먼저 잡고 Redis 락을 잡음
+    // JVM 당 계좌 하나에 한 스레드만 Redis 락을 두고 경쟁하게 된다.
+    HYBRID,
+    // 락 없이 계좌 별 단일 스레드 큐에서 순서대로 처리 (AccountSerialExecutor)
+    SERIAL,
+    // 락 없이 계좌 버전(@Version) 충돌 시 재시도
+    OPTIMISTIC,
+    // 락 없이 조건부 UPDATE 한 번으로 잔액 차감 (잔액 사용만, 나머지는 OPTIMISTIC 과 동일)
+    ATOMIC;
+
+    public boolean usesLock() {
+        return this == REDIS || this == LOCAL || this == HYBRID;
+    }
+}
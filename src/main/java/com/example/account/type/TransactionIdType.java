@@ -0,0 +1,8 @@
+package com.example.account.type;
+
+public enum TransactionIdType {
+    // 시간 순으로 증가하는 13자리 ID
+    SNOWFLAKE,
+    // 기존 32자리 UUID
+    UUID
+}
@@ -0,0 +1,44 @@
+package com.example.account.Exception;
+
+import com.example.account.dto.ErrorResponse;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+    private final GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler();
+
+    @Test
+    @DisplayName("예상된 거절은 stack trace 없이 생성")
+    void stacklessRejection() {
+        //when
+        AccountException rejection = new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        AccountException internalError = new AccountException(ErrorCode.INTERNAL_SERVER_ERROR);
+
+        //then
+        assertEquals(0, rejection.getStackTrace().length);
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE.getDescription(), rejection.getMessage());
+        assertTrue(internalError.getStackTrace().length > 0);
+    }
+
+    @Test
+    @DisplayName("에러 코드 별 응답은 미리 만든 것을 재사용")
+    void prebuiltErrorResponse() {
+        //when
+        ErrorResponse first = globalExceptionHandler.handleAccountException(
+                new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+        ErrorResponse second = globalExceptionHandler.handleAccountException(
+                new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+        ErrorResponse custom = globalExceptionHandler.handleAccountException(
+                new AccountException(ErrorCode.INVALID_REQUEST, "amount"));
+
+        //then
+        assertSame(first, second);
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, first.getErrorCode());
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK.getDescription(), first.getErrorMessage());
+        assertEquals(ErrorCode.INVALID_REQUEST, custom.getErrorCode());
+        assertEquals("amount", custom.getErrorMessage());
+    }
+}
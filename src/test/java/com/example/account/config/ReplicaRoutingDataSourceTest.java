@@ -0,0 +1,132 @@
+package com.example.account.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 두 개의 H2 인메모리 DB 를 primary / replica 로 두고 라우팅을 확인.
+ * 복제는 테스트에서 heartbeat 를 replica 에 직접 써서 흉내낸다.
+ */
+class ReplicaRoutingDataSourceTest {
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicationLagMonitor replicationLagMonitor;
+    private JdbcTemplate routing;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primaryDataSource = h2("routing_primary");
+        DataSource replicaDataSource = h2("routing_replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        for (JdbcTemplate jdbcTemplate : new JdbcTemplate[]{primary, replica}) {
+            jdbcTemplate.execute("drop table if exists marker");
+            jdbcTemplate.execute("drop table if exists replication_heartbeat");
+            jdbcTemplate.execute("create table marker (name varchar(10))");
+            jdbcTemplate.execute("create table replication_heartbeat (id int primary key, beat_at timestamp not null)");
+        }
+        primary.update("insert into marker values ('primary')");
+        replica.update("insert into marker values ('replica')");
+
+        replicationLagMonitor = new ReplicationLagMonitor(primaryDataSource, replicaDataSource, 1000L, 500L);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+        targets.put(ReplicaRoutingDataSource.REPLICA, replicaDataSource);
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(replicationLagMonitor);
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        routing = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("복제 지연이 허용치 이내면 읽기 전용 트랜잭션은 replica")
+    void readOnlyToReplica() {
+        //given
+        replicate(System.currentTimeMillis());
+
+        //when
+        replicationLagMonitor.check();
+
+        //then
+        assertTrue(replicationLagMonitor.isReplicaAvailable());
+        assertEquals("replica", readOnlyTransaction.execute(status -> marker()));
+        assertEquals("primary", writeTransaction.execute(status -> marker()));
+        assertEquals("primary", marker());
+    }
+
+    @Test
+    @DisplayName("복제 지연이 허용치를 넘으면 primary")
+    void fallbackToPrimaryOnLag() {
+        //given
+        replicate(System.currentTimeMillis() - 5000L);
+
+        //when
+        replicationLagMonitor.check();
+
+        //then
+        assertFalse(replicationLagMonitor.isReplicaAvailable());
+        assertTrue(replicationLagMonitor.getLagMs() >= 5000L);
+        assertEquals("primary", readOnlyTransaction.execute(status -> marker()));
+    }
+
+    @Test
+    @DisplayName("replica 를 읽을 수 없으면 primary")
+    void fallbackToPrimaryOnError() {
+        //given
+        replica.execute("drop table replication_heartbeat");
+
+        //when
+        replicationLagMonitor.check();
+
+        //then
+        assertFalse(replicationLagMonitor.isReplicaAvailable());
+        assertEquals(-1L, replicationLagMonitor.getLagMs());
+        assertEquals("primary", readOnlyTransaction.execute(status -> marker()));
+    }
+
+    @Test
+    @DisplayName("heartbeat 는 primary 에 기록")
+    void writeHeartbeatToPrimary() {
+        //when
+        replicationLagMonitor.check();
+
+        //then
+        assertNotNull(primary.queryForObject(
+                "select beat_at from replication_heartbeat where id = 1", Timestamp.class));
+    }
+
+    private void replicate(long beatAt) {
+        replica.update("insert into replication_heartbeat (id, beat_at) values (1, ?)",
+                new Timestamp(beatAt));
+    }
+
+    private String marker() {
+        return routing.queryForObject("select name from marker", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
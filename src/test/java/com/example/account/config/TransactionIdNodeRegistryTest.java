@@ -0,0 +1,77 @@
+package com.example.account.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 임베디드 Redis 로 서버 여러 대가 노드 ID 를 선점하는 상황을 확인.
+ * (애플리케이션 컨텍스트도 시작할 때 노드 ID 하나를 선점한다)
+ */
+@SpringBootTest
+class TransactionIdNodeRegistryTest {
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @Autowired
+    private TransactionIdNodeRegistry transactionIdNodeRegistry;
+
+    @Test
+    @DisplayName("노드 ID 를 설정하지 않은 서버 여러 대 - 서로 다른 ID 선점")
+    void claimDistinctNodeIds() {
+        //given
+        TransactionIdNodeRegistry server1 = new TransactionIdNodeRegistry(redissonClient, 30);
+        TransactionIdNodeRegistry server2 = new TransactionIdNodeRegistry(redissonClient, 30);
+
+        try {
+            //when
+            long nodeId1 = server1.claim(-1);
+            long nodeId2 = server2.claim(-1);
+
+            //then
+            assertNotEquals(nodeId1, nodeId2);
+            assertNotEquals(transactionIdNodeRegistry.getNodeId(), nodeId1);
+            assertNotEquals(transactionIdNodeRegistry.getNodeId(), nodeId2);
+        } finally {
+            server1.stop();
+            server2.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("다른 서버가 쓰고 있는 노드 ID 를 설정 - 시작 실패")
+    void claimNodeIdInUse() {
+        //given
+        TransactionIdNodeRegistry server = new TransactionIdNodeRegistry(redissonClient, 30);
+
+        //when
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> server.claim(transactionIdNodeRegistry.getNodeId()));
+
+        //then
+        assertTrue(exception.getMessage().contains("already in use"));
+    }
+
+    @Test
+    @DisplayName("종료하면 노드 ID 반납 - 다른 서버가 같은 ID 사용 가능")
+    void releaseNodeIdOnStop() {
+        //given
+        TransactionIdNodeRegistry server1 = new TransactionIdNodeRegistry(redissonClient, 30);
+        long nodeId = server1.claim(-1);
+
+        //when
+        server1.stop();
+
+        //then
+        TransactionIdNodeRegistry server2 = new TransactionIdNodeRegistry(redissonClient, 30);
+        try {
+            assertEquals(nodeId, server2.claim(nodeId));
+        } finally {
+            server2.stop();
+        }
+    }
+}
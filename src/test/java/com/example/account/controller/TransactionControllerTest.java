@@ -1,11 +1,21 @@
 package com.example.account.controller;
 
+import com.example.account.Exception.AccountException;
 import com.example.account.domain.Account;
 import com.example.account.dto.CancelBalance;
 import com.example.account.dto.QueryTransactionResponse;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionHistoryItem;
 import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
+import com.example.account.service.AccountSerialExecutor;
+import com.example.account.service.AccountSlotService;
+import com.example.account.service.FailedTransactionRecorder;
+import com.example.account.service.FaultInjector;
+import com.example.account.service.TransactionBatchService;
+import com.example.account.service.TransactionExportService;
 import com.example.account.service.TransactionService;
+import com.example.account.type.ErrorCode;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
@@ -18,9 +28,14 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -33,6 +48,24 @@ class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private TransactionBatchService transactionBatchService;
+
+    @MockBean
+    private FailedTransactionRecorder failedTransactionRecorder;
+
+    @MockBean
+    private TransactionExportService transactionExportService;
+
+    @MockBean
+    private AccountSerialExecutor accountSerialExecutor;
+
+    @MockBean
+    private AccountSlotService accountSlotService;
+
+    @MockBean
+    private FaultInjector faultInjector;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -67,6 +100,67 @@ class TransactionControllerTest {
 
     }
 
+    @Test
+    void useBalanceOfAccountShardedByOtherServer() throws Exception {
+        //given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willThrow(new AccountException(ErrorCode.ACCOUNT_SHARDED));
+        given(accountSlotService.reload("1000000001"))
+                .willReturn(true);
+        given(accountSlotService.useBalance(1L, "1000000001", 3000L))
+                .willReturn(
+                        TransactionDto.builder()
+                                .accountNumber("1000000001")
+                                .transactionResultType(TransactionResultType.SUCCESS)
+                                .transactionId("slot")
+                                .amount(3000L)
+                                .build()
+                );
+        //when
+        //then
+        mockMvc.perform(post("/use_balance")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new UseBalance.Request(
+                                1L, "1000000001", 3000L))
+                ))
+                .andDo(print())
+                .andExpect(jsonPath("$.transactionId").value("slot"))
+                .andExpect(jsonPath("$.transactionResultType").value(TransactionResultType.SUCCESS.toString()));
+    }
+
+        @Test
+    void successUseBalanceBatch() throws Exception {
+        //given
+        given(transactionBatchService.useBalanceBatch(anyList()))
+                .willReturn(Arrays.asList(
+                        UseBalanceBatch.Result.success(TransactionDto.builder()
+                                .accountNumber("1000000000")
+                                .transactionResultType(TransactionResultType.SUCCESS)
+                                .transactionId("asdasd")
+                                .amount(3000L)
+                                .build()),
+                        UseBalanceBatch.Result.failure(ErrorCode.AMOUNT_EXCEED_BALANCE)
+                ));
+        //when
+        //then
+        mockMvc.perform(post("/use_balance/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UseBalanceBatch.Request(Arrays.asList(
+                                        new UseBalance.Request(1L, "1000000000", 3000L),
+                                        new UseBalance.Request(1L, "1000000001", 5000L)))
+                        )))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].transactionResultType").value(TransactionResultType.SUCCESS.toString()))
+                .andExpect(jsonPath("$.items[0].transactionId").value("asdasd"))
+                .andExpect(jsonPath("$.items[1].accountNumber").value("1000000001"))
+                .andExpect(jsonPath("$.items[1].transactionResultType").value(TransactionResultType.FAILED.toString()))
+                .andExpect(jsonPath("$.items[1].errorCode").value(ErrorCode.AMOUNT_EXCEED_BALANCE.toString()))
+                .andExpect(jsonPath("$.items[1].amount").value(5000L));
+    }
+
     @Test
     void successCancelBalanceTransaction() throws Exception {
         //given
@@ -119,5 +213,39 @@ class TransactionControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void successGetTransactionHistory() throws Exception {
+        //given
+        given(transactionService.getTransactionHistory(eq("1000000000"),
+                eq(TransactionType.USE_BALANCE), isNull(), any(), eq(3)))
+                .willReturn(Arrays.asList(
+                        historyItem(3L, "c"),
+                        historyItem(2L, "b"),
+                        historyItem(1L, "a")));
 
-}
\ No newline at end of file
+        //when
+        //then
+        mockMvc.perform(get("/account/1000000000/transactions")
+                        .param("transaction_type", "USE_BALANCE")
+                        .param("size", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("1000000000"))
+                .andExpect(jsonPath("$.transactions.length()").value(2))
+                .andExpect(jsonPath("$.transactions[0].transactionId").value("c"))
+                .andExpect(jsonPath("$.transactions[1].transactionId").value("b"))
+                .andExpect(jsonPath("$.transactions[0].id").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
+    private static TransactionHistoryItem historyItem(Long id, String transactionId) {
+        return TransactionHistoryItem.builder()
+                .id(id)
+                .transactionId(transactionId)
+                .transactionType(TransactionType.USE_BALANCE)
+                .transactionResultType(TransactionResultType.SUCCESS)
+                .amount(1000L)
+                .transactedAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .build();
+    }
+}
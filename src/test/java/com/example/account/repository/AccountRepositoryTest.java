@@ -0,0 +1,65 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountSlot;
+import com.example.account.domain.AccountUser;
+import com.example.account.dto.AccountDto;
+import com.example.account.type.AccountStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class AccountRepositoryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("사용자 계좌 목록 - 분할 계좌의 잔액은 슬롯 합계")
+    void findAccountDtosByAccountUserId() {
+        //given
+        AccountUser accountUser = entityManager.persist(AccountUser.builder()
+                .name("Pobi").build());
+        AccountUser otherUser = entityManager.persist(AccountUser.builder()
+                .name("Tayo").build());
+        account(accountUser, "1000000000", 10000L);
+        Account sharded = account(accountUser, "1000000001", 30000L);
+        account(otherUser, "1000000002", 5000L);
+        for (int i = 0; i < 2; i++) {
+            entityManager.persist(AccountSlot.builder()
+                    .account(sharded)
+                    .slotIndex(i)
+                    .balance(15000L)
+                    .build());
+        }
+        accountRepository.updateSharded(sharded.getId(), 2);
+
+        //when
+        List<AccountDto> accountDtos = accountRepository.findAccountDtosByAccountUserId(accountUser.getId());
+
+        //then
+        assertEquals(2, accountDtos.size());
+        assertEquals(accountUser.getId(), accountDtos.get(0).getUserId());
+        assertEquals("1000000000", accountDtos.get(0).getAccountNumber());
+        assertEquals(10000L, accountDtos.get(0).getBalance());
+        assertEquals("1000000001", accountDtos.get(1).getAccountNumber());
+        assertEquals(30000L, accountDtos.get(1).getBalance());
+    }
+
+    private Account account(AccountUser accountUser, String accountNumber, Long balance) {
+        return entityManager.persist(Account.builder()
+                .accountUser(accountUser)
+                .accountNumber(accountNumber)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(balance).build());
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.account.repository;
+
+import com.example.account.domain.AccountUser;
+import com.example.account.service.TransactionExportService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 주요 조회 쿼리가 인덱스를 타는지 H2 EXPLAIN 으로 확인.
+ * 리포지토리 메서드를 실제로 호출해서 Hibernate 가 만든 SQL 을 StatementInspector 로 받아 EXPLAIN 한다.
+ * 엔티티의 인덱스 설정이나 쿼리가 바뀌어 풀 스캔으로 바뀌면 실패한다.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.account.repository.RepositoryQueryPlanTest$SqlCapture")
+class RepositoryQueryPlanTest {
+    private static final Timestamp TRANSACTED_AT = Timestamp.valueOf("2024-01-01 00:00:00");
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setUp() {
+        SqlCapture.STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("AccountRepository.findByAccountNumber")
+    void findByAccountNumber() {
+        // natural-id 캐시에 없는 계좌번호로 조회해야 SQL 이 나간다.
+        accountRepository.findByAccountNumber("9999999999");
+        // 인덱스 이름 조회도 SQL 이므로 먼저 받아둔다.
+        String sql = capturedSql();
+
+        assertUsesIndex(accountNumberIndex(), sql, "9999999999");
+    }
+
+    @Test
+    @DisplayName("AccountRepository.findMaxAccountNumber")
+    void findMaxAccountNumber() {
+        accountRepository.findMaxAccountNumber();
+        String sql = capturedSql();
+
+        assertUsesIndex(accountNumberIndex(), sql);
+    }
+
+    @Test
+    @DisplayName("AccountRepository.findAllByAccountUser")
+    void findAllByAccountUser() {
+        accountRepository.findAllByAccountUser(entityManager.getReference(AccountUser.class, 1L));
+
+        assertUsesIndex("idx_account_account_user", capturedSql(), 1L);
+    }
+
+    @Test
+    @DisplayName("AccountRepository.countByAccountUser")
+    void countByAccountUser() {
+        accountRepository.countByAccountUser(entityManager.getReference(AccountUser.class, 1L));
+
+        assertUsesIndex("idx_account_account_user", capturedSql(), 1L);
+    }
+
+    @Test
+    @DisplayName("TransactionRepository.findByTransactionId")
+    void findByTransactionId() {
+        transactionRepository.findByTransactionId("abc");
+
+        assertUsesIndex("uk_transaction_transaction_id", capturedSql(), "abc");
+    }
+
+    @Test
+    @DisplayName("TransactionRepository.findDtoByTransactionId")
+    void findDtoByTransactionId() {
+        transactionRepository.findDtoByTransactionId("abc");
+
+        assertUsesIndex("uk_transaction_transaction_id", capturedSql(), "abc");
+    }
+
+    @Test
+    @DisplayName("TransactionExportService 거래 내역 내보내기 (거래 일시 순)")
+    void exportTransactions() {
+        // JdbcTemplate 으로 실행하는 쿼리라 서비스의 SQL 을 그대로 사용
+        assertUsesIndex("idx_transaction_account_transacted_at",
+                TransactionExportService.EXPORT_QUERY,
+                1L, TRANSACTED_AT, Timestamp.valueOf("2024-02-01 00:00:00"));
+    }
+
+    @Test
+    @DisplayName("TransactionRepository.findHistory (keyset)")
+    void findHistory() {
+        transactionRepository.findHistory(1L, TRANSACTED_AT.toLocalDateTime(), 100L,
+                null, null, PageRequest.of(0, 21));
+
+        // :transactedAt, :transactionType, :transactionResultType 는 쓰인 횟수만큼 바인딩된다.
+        assertUsesIndex("idx_transaction_account_transacted_at", capturedSql(),
+                1L, TRANSACTED_AT, TRANSACTED_AT, 100L, null, null, null, null, 21);
+    }
+
+    /**
+     * account_number 유니크 제약(uk_account_account_number)의 인덱스 이름은 H2 가 붙이므로 스키마에서 찾는다.
+     * account.account_number 하나만 가진 유니크 인덱스가 정확히 하나여야 한다. (@NaturalId 의 유니크 키와 합쳐짐)
+     */
+    private String accountNumberIndex() {
+        List<?> indexNames = entityManager.createNativeQuery(
+                "select index_name from information_schema.indexes "
+                        + "where table_schema = 'PUBLIC' and table_name = 'ACCOUNT' "
+                        + "and non_unique = false and primary_key = false "
+                        + "and index_name in (select index_name from information_schema.indexes "
+                        + "where table_schema = 'PUBLIC' and table_name = 'ACCOUNT' "
+                        + "group by index_name having count(*) = 1) "
+                        + "and column_name = 'ACCOUNT_NUMBER'")
+                .getResultList();
+
+        assertEquals(1, indexNames.size(), () -> "account_number unique index: " + indexNames);
+        return String.valueOf(indexNames.get(0));
+    }
+
+    /**
+     * 리포지토리 호출 한 번에 나간 조회 SQL (하나여야 한다)
+     */
+    private String capturedSql() {
+        List<String> selects = SqlCapture.STATEMENTS.stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                .collect(Collectors.toList());
+
+        assertEquals(1, selects.size(), () -> "captured statements: " + SqlCapture.STATEMENTS);
+        return selects.get(0);
+    }
+
+    private void assertUsesIndex(String indexName, String sql, Object... args) {
+        long parameterCount = sql.chars().filter(c -> c == '?').count();
+        assertEquals(args.length, parameterCount, () -> "bind parameters of:\n" + sql);
+
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class, args);
+
+        assertTrue(plan.toUpperCase().contains("PUBLIC." + indexName.toUpperCase()),
+                () -> "expected index " + indexName + " in plan:\n" + plan);
+        assertFalse(plan.contains("tableScan"),
+                () -> "unexpected table scan in plan:\n" + plan);
+    }
+
+    /**
+     * Hibernate 가 JDBC 로 보내는 SQL 을 모은다.
+     */
+    public static class SqlCapture implements StatementInspector {
+        private static final long serialVersionUID = 1L;
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
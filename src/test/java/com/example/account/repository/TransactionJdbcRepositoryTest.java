@@ -0,0 +1,131 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.type.AccountStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static com.example.account.type.TransactionResultType.SUCCESS;
+import static com.example.account.type.TransactionType.USE_BALANCE;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(TransactionJdbcRepository.class)
+class TransactionJdbcRepositoryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionJdbcRepository transactionJdbcRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private AccountUser accountUser;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        accountUser = entityManager.persist(AccountUser.builder()
+                .name("Pobi").build());
+        account = entityManager.persist(Account.builder()
+                .accountUser(accountUser)
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L).build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("조건부 차감 성공 - 잔액과 버전 변경")
+    void debit() {
+        //when
+        boolean debited = transactionJdbcRepository.debit("1000000000", accountUser.getId(), 3000L);
+
+        //then
+        assertTrue(debited);
+        Account updated = entityManager.find(Account.class, account.getId());
+        assertEquals(7000L, updated.getBalance());
+        assertEquals(account.getVersion() + 1, updated.getVersion());
+    }
+
+    @Test
+    @DisplayName("잔액 부족 / 다른 사용자 / 해지 계좌는 차감하지 않음")
+    void debitRejected() {
+        //when
+        boolean exceed = transactionJdbcRepository.debit("1000000000", accountUser.getId(), 10001L);
+        boolean otherUser = transactionJdbcRepository.debit("1000000000", accountUser.getId() + 1, 100L);
+        entityManager.getEntityManager()
+                .createQuery("update Account a set a.accountStatus = :status")
+                .setParameter("status", AccountStatus.UNREGISTERED)
+                .executeUpdate();
+        boolean unregistered = transactionJdbcRepository.debit("1000000000", accountUser.getId(), 100L);
+
+        //then
+        assertFalse(exceed);
+        assertFalse(otherUser);
+        assertFalse(unregistered);
+        assertEquals(10000L, entityManager.find(Account.class, account.getId()).getBalance());
+    }
+
+    @Test
+    @DisplayName("거래 저장 - 잔액 스냅샷은 차감 후 잔액")
+    void insertTransaction() {
+        //given
+        LocalDateTime transactedAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        transactionJdbcRepository.debit("1000000000", accountUser.getId(), 3000L);
+
+        //when
+        transactionJdbcRepository.insertTransaction(USE_BALANCE, SUCCESS,
+                "1000000000", 3000L, "txid", transactedAt);
+
+        //then
+        Transaction transaction = transactionRepository.findByTransactionId("txid").get();
+        assertEquals(account.getId(), transaction.getAccount().getId());
+        assertEquals(3000L, transaction.getAmount());
+        assertEquals(7000L, transaction.getBalanceSnapshot());
+        assertEquals(transactedAt, transaction.getTransactedAt());
+    }
+
+    @Test
+    @DisplayName("JDBC 로 저장한 거래와 pooled-lo 로 id 를 받은 엔티티의 id 가 겹치지 않음")
+    void sequenceSharedWithEntities() {
+        //given
+        Transaction first = entityManager.persist(transaction("entity-1"));
+        entityManager.flush();
+
+        //when
+        transactionJdbcRepository.insertTransaction(USE_BALANCE, SUCCESS,
+                "1000000000", 100L, "jdbc-1", LocalDateTime.now());
+        Transaction second = entityManager.persist(transaction("entity-2"));
+        entityManager.flush();
+
+        //then
+        Long jdbcId = transactionRepository.findByTransactionId("jdbc-1").get().getId();
+        assertEquals(first.getId() + 1, second.getId());
+        assertNotEquals(first.getId(), jdbcId);
+        assertNotEquals(second.getId(), jdbcId);
+    }
+
+    private Transaction transaction(String transactionId) {
+        return Transaction.builder()
+                .transactionType(USE_BALANCE)
+                .transactionResultType(SUCCESS)
+                .account(entityManager.find(Account.class, account.getId()))
+                .amount(100L)
+                .balanceSnapshot(10000L)
+                .transactionId(transactionId)
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.TransactionDto;
+import com.example.account.type.AccountStatus;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+import static com.example.account.type.TransactionResultType.SUCCESS;
+import static com.example.account.type.TransactionType.USE_BALANCE;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class TransactionRepositoryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private LocalDateTime transactedAt;
+
+    @BeforeEach
+    void setUp() {
+        AccountUser accountUser = entityManager.persist(AccountUser.builder()
+                .name("Pobi").build());
+        Account account = entityManager.persist(Account.builder()
+                .accountUser(accountUser)
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L).build());
+        transactedAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        entityManager.persist(Transaction.builder()
+                .transactionType(USE_BALANCE)
+                .transactionResultType(SUCCESS)
+                .account(account)
+                .amount(3000L)
+                .balanceSnapshot(7000L)
+                .transactionId("txid")
+                .transactedAt(transactedAt)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("거래 조회 - 엔티티 없이 응답 DTO 로 조회")
+    void findDtoByTransactionId() {
+        //when
+        TransactionDto transactionDto = transactionRepository.findDtoByTransactionId("txid").get();
+
+        //then
+        assertEquals(USE_BALANCE, transactionDto.getTransactionType());
+        assertEquals(SUCCESS, transactionDto.getTransactionResultType());
+        assertEquals("1000000000", transactionDto.getAccountNumber());
+        assertEquals(3000L, transactionDto.getAmount());
+        assertEquals(7000L, transactionDto.getBalanceSnapshot());
+        assertEquals(transactedAt, transactionDto.getTransactedAt());
+        assertFalse(transactionRepository.findDtoByTransactionId("none").isPresent());
+    }
+
+    @Test
+    @DisplayName("거래 취소용 조회 - 계좌는 함께 읽고 사용자는 읽지 않음")
+    void findWithAccountByTransactionId() {
+        //when
+        Transaction transaction = transactionRepository.findWithAccountByTransactionId("txid").get();
+
+        //then
+        assertTrue(Hibernate.isInitialized(transaction.getAccount()));
+        assertEquals("1000000000", transaction.getAccount().getAccountNumber());
+        assertFalse(Hibernate.isInitialized(transaction.getAccount().getAccountUser()));
+    }
+}
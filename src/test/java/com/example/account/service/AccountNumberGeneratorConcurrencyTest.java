@@ -0,0 +1,123 @@
+package com.example.account.service;
+
+import com.example.account.dto.AccountDto;
+import com.example.account.repository.AccountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 임베디드 Redis 시퀀스로 동시에 계좌번호를 발급해도 겹치지 않는지 확인.
+ */
+@SpringBootTest
+class AccountNumberGeneratorConcurrencyTest {
+    private static final int THREAD_COUNT = 16;
+    private static final int USER_COUNT = 20;
+    private static final int ACCOUNTS_PER_USER = 10;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("여러 사용자가 동시에 계좌 생성 - 계좌번호 중복 없음")
+    void createAccountsConcurrently() throws Exception {
+        //given
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            // JPA 가 쓰는 id 구간과 겹치지 않도록 시퀀스에서 직접 받는다.
+            // 시퀀스는 data.sql 이 id 를 직접 넣는 사용자(1~4)보다 큰 값에서 시작한다. (BaseEntity)
+            Long userId = jdbcTemplate.queryForObject(
+                    "select next value for hibernate_sequence", Long.class);
+            jdbcTemplate.update("insert into account_user(id, name, created_at, updated_at) " +
+                    "values (?, 'Poby', now(), now())", userId);
+            userIds.add(userId);
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < ACCOUNTS_PER_USER; i++) {
+            for (Long userId : userIds) {
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    AccountDto account = accountService.createAccount(userId, 1000L);
+                    return account.getAccountNumber();
+                }));
+            }
+        }
+        start.countDown();
+        Set<String> accountNumbers = new HashSet<>();
+        for (Future<String> future : futures) {
+            accountNumbers.add(future.get());
+        }
+        executorService.shutdown();
+
+        //then
+        assertEquals(USER_COUNT * ACCOUNTS_PER_USER, accountNumbers.size());
+        assertEquals(USER_COUNT * ACCOUNTS_PER_USER, jdbcTemplate.queryForObject(
+                "select count(distinct account_number) from account where account_user_id in ("
+                        + String.join(",", Collections.nCopies(USER_COUNT, "?")) + ")",
+                Integer.class, userIds.toArray()));
+    }
+
+    @Test
+    @DisplayName("발급기 여러 개(서버 여러 대)가 같은 Redis 시퀀스에서 동시에 발급 - 중복 없음")
+    void generateAcrossGenerators() throws Exception {
+        //given
+        List<AccountNumberGenerator> generators = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            AccountNumberGenerator generator = new AccountNumberGenerator(redissonClient, accountRepository);
+            // 구간을 작게 해서 Redis 에서 자주 예약하도록
+            ReflectionTestUtils.setField(generator, "blockSize", 7L);
+            generators.add(generator);
+        }
+        int countPerThread = 1000;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> futures = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            AccountNumberGenerator generator = generators.get(i % generators.size());
+            futures.add(executorService.submit(() -> {
+                start.await();
+                List<String> accountNumbers = new ArrayList<>(countPerThread);
+                for (int j = 0; j < countPerThread; j++) {
+                    accountNumbers.add(generator.nextAccountNumber());
+                }
+                return accountNumbers;
+            }));
+        }
+        start.countDown();
+        Set<String> accountNumbers = new HashSet<>();
+        for (Future<List<String>> future : futures) {
+            accountNumbers.addAll(future.get());
+        }
+        executorService.shutdown();
+
+        //then
+        assertEquals(THREAD_COUNT * countPerThread, accountNumbers.size());
+        accountNumbers.forEach(accountNumber -> assertEquals(10, accountNumber.length()));
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.account.service;
+
+import com.example.account.repository.AccountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RedissonClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberGeneratorTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RAtomicLong sequence;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private final AtomicLong redisSequence = new AtomicLong();
+
+    @Test
+    @DisplayName("DB에 계좌가 있으면 가장 큰 계좌번호 다음부터 발급")
+    void startAfterMaxAccountNumber() {
+        //given
+        givenRedisSequence();
+        given(accountRepository.findMaxAccountNumber())
+                .willReturn(Optional.of("1000000012"));
+        AccountNumberGenerator generator =
+                new AccountNumberGenerator(redissonClient, accountRepository);
+
+        //when
+        String first = generator.nextAccountNumber();
+        String second = generator.nextAccountNumber();
+
+        //then
+        assertEquals("1000000013", first);
+        assertEquals("1000000014", second);
+    }
+
+    @Test
+    @DisplayName("여러 서버, 여러 스레드에서 10만개 발급 - 중복 없음")
+    void noDuplicateUnderConcurrency() throws Exception {
+        //given
+        givenRedisSequence();
+        given(accountRepository.findMaxAccountNumber())
+                .willReturn(Optional.empty());
+        List<AccountNumberGenerator> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            nodes.add(new AccountNumberGenerator(redissonClient, accountRepository));
+        }
+        int threads = 32;
+        int perThread = 100_000 / threads + 1;
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        //when
+        for (int t = 0; t < threads; t++) {
+            AccountNumberGenerator generator = nodes.get(t % nodes.size());
+            futures.add(executorService.submit(() -> {
+                start.await();
+                int duplicates = 0;
+                for (int i = 0; i < perThread; i++) {
+                    String accountNumber = generator.nextAccountNumber();
+                    assertEquals(10, accountNumber.length());
+                    if (!issued.add(accountNumber)) {
+                        duplicates++;
+                    }
+                }
+                return duplicates;
+            }));
+        }
+        start.countDown();
+        int duplicates = 0;
+        for (Future<Integer> future : futures) {
+            duplicates += future.get(30, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        //then
+        assertEquals(0, duplicates);
+        assertEquals(threads * perThread, issued.size());
+    }
+
+    private void givenRedisSequence() {
+        given(redissonClient.getAtomicLong(anyString()))
+                .willReturn(sequence);
+        given(sequence.get())
+                .will(invocation -> redisSequence.get());
+        given(sequence.compareAndSet(anyLong(), anyLong()))
+                .will(invocation -> redisSequence.compareAndSet(
+                        invocation.getArgument(0), invocation.getArgument(1)));
+        given(sequence.addAndGet(anyLong()))
+                .will(invocation -> redisSequence.addAndGet(invocation.getArgument(0)));
+    }
+}
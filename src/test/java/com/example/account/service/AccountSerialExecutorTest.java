@@ -0,0 +1,123 @@
+package com.example.account.service;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.LockMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class AccountSerialExecutorTest {
+    @Mock
+    private TransactionService transactionService;
+
+    @InjectMocks
+    private AccountSerialExecutor accountSerialExecutor;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(accountSerialExecutor, "lockMode", LockMode.SERIAL);
+        ReflectionTestUtils.setField(accountSerialExecutor, "shardCount", 1);
+        ReflectionTestUtils.setField(accountSerialExecutor, "timeoutMs", 5000L);
+        accountSerialExecutor.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        accountSerialExecutor.stop();
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("같은 계좌에 연속으로 쌓인 잔액 사용은 한 번에 처리")
+    void coalesceQueuedDebits() throws Exception {
+        //given
+        List<Integer> groupSizes = new CopyOnWriteArrayList<>();
+        willAnswer(invocation -> {
+            List<UseBalance.Request> requests = invocation.getArgument(1);
+            groupSizes.add(requests.size());
+            List<UseBalanceBatch.Result> results = new ArrayList<>();
+            for (UseBalance.Request request : requests) {
+                results.add(request.getAmount() > 1000L
+                        ? UseBalanceBatch.Result.failure(ErrorCode.AMOUNT_EXCEED_BALANCE)
+                        : UseBalanceBatch.Result.success(TransactionDto.builder()
+                        .accountNumber(request.getAccountNumber())
+                        .amount(request.getAmount()).build()));
+            }
+            return results;
+        }).given(transactionService).useBalanceGroup(eq("1000000000"), anyList());
+
+        // 앞의 작업이 끝나지 않은 동안 잔액 사용 요청이 큐에 쌓이도록 한다.
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> blocking = callers.submit(() ->
+                accountSerialExecutor.execute("1000000000", () -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return "done";
+                }));
+        Thread.sleep(100);
+
+        //when
+        List<Future<TransactionDto>> debits = new ArrayList<>();
+        for (long amount : new long[]{100L, 200L, 5000L}) {
+            debits.add(callers.submit(() -> accountSerialExecutor.useBalance(
+                    new UseBalance.Request(1L, "1000000000", amount))));
+            Thread.sleep(50);
+        }
+        release.countDown();
+
+        //then
+        assertEquals("done", blocking.get(5, TimeUnit.SECONDS));
+        assertEquals(100L, debits.get(0).get(5, TimeUnit.SECONDS).getAmount());
+        assertEquals(200L, debits.get(1).get(5, TimeUnit.SECONDS).getAmount());
+        ExecutionException failed = assertThrows(ExecutionException.class,
+                () -> debits.get(2).get(5, TimeUnit.SECONDS));
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE,
+                ((AccountException) failed.getCause()).getErrorCode());
+        assertEquals(List.of(3), groupSizes);
+    }
+
+    @Test
+    @DisplayName("실행이 시작되지 않은 채 시간이 지나면 실패하고 작업은 실행하지 않음")
+    void abandonTimedOutTask() throws Exception {
+        //given
+        ReflectionTestUtils.setField(accountSerialExecutor, "timeoutMs", 50L);
+        CountDownLatch release = new CountDownLatch(1);
+        callers.submit(() -> accountSerialExecutor.execute("1000000000", () -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "done";
+        }));
+        Thread.sleep(20);
+        List<String> executed = new CopyOnWriteArrayList<>();
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountSerialExecutor.execute("1000000000", () -> executed.add("late")));
+        release.countDown();
+        Thread.sleep(200);
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertTrue(executed.isEmpty());
+    }
+}
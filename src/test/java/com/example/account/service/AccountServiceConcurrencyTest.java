@@ -0,0 +1,81 @@
+package com.example.account.service;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 한 사용자에게 여러 스레드가 동시에 계좌를 만들어도 최대 계좌 수를 넘지 않는지 확인.
+ */
+@SpringBootTest
+class AccountServiceConcurrencyTest {
+    private static final int THREAD_COUNT = 16;
+    private static final int REQUEST_COUNT = 40;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("동시에 계좌 생성 - 사용자 당 최대 계좌 수를 넘지 않음")
+    void createAccountConcurrently() throws Exception {
+        //given
+        // JPA 가 쓰는 id 구간과 겹치지 않도록 시퀀스에서 직접 받는다.
+        // 시퀀스는 data.sql 이 id 를 직접 넣는 사용자(1~4)보다 큰 값에서 시작한다. (BaseEntity)
+        Long userId = jdbcTemplate.queryForObject(
+                "select next value for hibernate_sequence", Long.class);
+        // 계좌 수 row 는 없이 시작해서 처음 생성 시 동시에 만드는 경우도 확인한다.
+        jdbcTemplate.update("insert into account_user(id, name, created_at, updated_at) " +
+                "values (?, 'Poby', now(), now())", userId);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                try {
+                    accountService.createAccount(userId, 1000L);
+                    created.incrementAndGet();
+                } catch (AccountException e) {
+                    assertEquals(ErrorCode.MAX_ACCOUNT_PER_USER_ID, e.getErrorCode());
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+
+        //then
+        assertEquals(10, created.get());
+        assertEquals(REQUEST_COUNT - 10, rejected.get());
+        assertEquals(10, jdbcTemplate.queryForObject(
+                "select count(*) from account where account_user_id = ?", Integer.class, userId));
+        assertEquals(10, jdbcTemplate.queryForObject(
+                "select account_count from account_user_quota where account_user_id = ?", Integer.class, userId));
+    }
+}
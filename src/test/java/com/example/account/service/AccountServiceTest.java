@@ -2,11 +2,15 @@ package com.example.account.service;
 
 import com.example.account.Exception.AccountException;
 import com.example.account.domain.Account;
+import com.example.account.domain.AccountSlot;
 import com.example.account.domain.AccountUser;
+import com.example.account.domain.AccountUserQuota;
 import com.example.account.dto.AccountDto;
+import com.example.account.repository.AccountUserQuotaRepository;
 import com.example.account.repository.AccountUserRepository;
 import com.example.account.type.AccountStatus;
 import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountSlotRepository;
 import com.example.account.type.ErrorCode;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -34,6 +38,21 @@ class AccountServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Mock
+    private AccountCache accountCache;
+
+    @Mock
+    private RedisBalanceEngine redisBalanceEngine;
+
+    @Mock
+    private AccountSlotRepository accountSlotRepository;
+
+    @Mock
+    private AccountUserQuotaRepository accountUserQuotaRepository;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -45,9 +64,10 @@ class AccountServiceTest {
         accountUser.setId(12L);
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(accountUser));
-        given(accountRepository.findFirstByOrderByIdDesc())
-                .willReturn(Optional.of(Account.builder()
-                        .accountNumber("1000000012").build()));
+        given(accountUserQuotaRepository.incrementAccountCount(12L, 10))
+                .willReturn(1);
+        given(accountNumberGenerator.nextAccountNumber())
+                .willReturn("1000000013");
         given(accountRepository.save(any()))
                 .willReturn(Account.builder()
                         .accountUser(accountUser)
@@ -66,31 +86,63 @@ class AccountServiceTest {
 
 
     @Test
-    void getAccountsByUserId() {
+    @DisplayName("계좌 수 row 가 없는 사용자 - 사용 중인 계좌를 세서 만든 뒤 증가")
+    void createAccount_createQuota() {
         //given
         AccountUser accountUser = AccountUser.builder()
                 .name("POBI").build();
         accountUser.setId(12L);
-        List<Account> accounts = Arrays.asList(
-                Account.builder()
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(accountUser));
+        given(accountUserQuotaRepository.incrementAccountCount(12L, 10))
+                .willReturn(0, 1);
+        given(accountRepository.countByAccountUserAndAccountStatus(accountUser, AccountStatus.IN_USE))
+                .willReturn(3);
+        given(accountNumberGenerator.nextAccountNumber())
+                .willReturn("1000000013");
+        given(accountRepository.save(any()))
+                .willReturn(Account.builder()
                         .accountUser(accountUser)
+                        .accountNumber("1000000013").build());
+        ArgumentCaptor<AccountUserQuota> quotaArgumentCaptor = ArgumentCaptor.forClass(AccountUserQuota.class);
+
+        //when
+        accountService.createAccount(12L, 100L);
+
+        //then
+        verify(accountUserRepository, times(1)).findForUpdateById(12L);
+        verify(accountUserQuotaRepository, times(1)).saveAndFlush(quotaArgumentCaptor.capture());
+        assertEquals(12L, quotaArgumentCaptor.getValue().getAccountUserId());
+        assertEquals(3, quotaArgumentCaptor.getValue().getAccountCount());
+        verify(accountUserQuotaRepository, times(2)).incrementAccountCount(12L, 10);
+    }
+
+    @Test
+    void getAccountsByUserId() {
+        //given
+        AccountUser accountUser = AccountUser.builder()
+                .name("POBI").build();
+        accountUser.setId(12L);
+        List<AccountDto> accounts = Arrays.asList(
+                AccountDto.builder()
+                        .userId(12L)
                         .accountNumber("1111111111")
                         .balance(1000L)
                         .build(),
-                Account.builder()
-                        .accountUser(accountUser)
+                AccountDto.builder()
+                        .userId(12L)
                         .accountNumber("2222222222")
                         .balance(2000L)
                         .build(),
-                Account.builder()
-                        .accountUser(accountUser)
+                AccountDto.builder()
+                        .userId(12L)
                         .accountNumber("3333333333")
                         .balance(3000L)
                         .build()
         );
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(accountUser));
-        given(accountRepository.findAllByAccountUser(any()))
+        given(accountRepository.findAccountDtosByAccountUserId(12L))
                 .willReturn(accounts);
         //when
         List<AccountDto> accountDtos = accountService.getAccountsByUserId(12L);
@@ -102,6 +154,7 @@ class AccountServiceTest {
         assertEquals(2000L, accountDtos.get(1).getBalance());
         assertEquals("3333333333", accountDtos.get(2).getAccountNumber());
         assertEquals(3000L, accountDtos.get(2).getBalance());
+        verify(accountRepository, times(0)).findAllByAccountUser(any());
 
     }
 
@@ -144,8 +197,10 @@ class AccountServiceTest {
         accountUser.setId(12L);
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(accountUser));
-        given(accountRepository.countByAccountUser(accountUser))
-                .willReturn(10);
+        given(accountUserQuotaRepository.incrementAccountCount(12L, 10))
+                .willReturn(0);
+        given(accountUserQuotaRepository.existsById(12L))
+                .willReturn(true);
 
         //when
         AccountException accountException = assertThrows(AccountException.class,
@@ -153,13 +208,14 @@ class AccountServiceTest {
 
         //then
         assertEquals(ErrorCode.MAX_ACCOUNT_PER_USER_ID, accountException.getErrorCode());
+        verify(accountUserQuotaRepository, times(0)).saveAndFlush(any());
     }
 
     @Test
     @DisplayName("계좌 조회 성공")
     void testXXX() {
         //given
-        given(accountRepository.findById(anyLong()))
+        given(accountRepository.findWithAccountUserById(anyLong()))
                 .willReturn(Optional.of(Account.builder()
                         .accountStatus(AccountStatus.UNREGISTERED)
                         .accountNumber("65789").build()));
@@ -169,7 +225,7 @@ class AccountServiceTest {
         Account account = accountService.getAccount(4555L);
 
         //then
-        verify(accountRepository, times(1)).findById(captor.capture());
+        verify(accountRepository, times(1)).findWithAccountUserById(captor.capture());
         verify(accountRepository, times(0)).save(any());
         assertEquals(4555L, captor.getValue());
         assertNotEquals(45515L, captor.getValue());
@@ -193,7 +249,7 @@ class AccountServiceTest {
     @DisplayName("Test 이름 변경")
     void testGetAccount() {
         //given
-        given(accountRepository.findById(anyLong()))
+        given(accountRepository.findWithAccountUserById(anyLong()))
                 .willReturn(Optional.of(Account.builder()
                         .accountStatus(AccountStatus.UNREGISTERED)
                         .accountNumber("65789").build()));
@@ -209,7 +265,7 @@ class AccountServiceTest {
     @Test
     void testGetAccount2() {
         //given
-        given(accountRepository.findById(anyLong()))
+        given(accountRepository.findWithAccountUserById(anyLong()))
                 .willReturn(Optional.of(Account.builder()
                         .accountStatus(AccountStatus.UNREGISTERED)
                         .accountNumber("65789").build()));
@@ -243,6 +299,7 @@ class AccountServiceTest {
         AccountDto accountDto = accountService.deleteAccount(1L, "123123123");
         //then
         verify(accountRepository, times(1)).save(accountArgumentCaptor.capture());
+        verify(accountUserQuotaRepository, times(1)).decrementAccountCount(12L);
         assertEquals(12L, accountDto.getUserId());
         assertEquals(AccountStatus.UNREGISTERED, accountArgumentCaptor.getValue().getAccountStatus());
     }
@@ -358,4 +415,59 @@ class AccountServiceTest {
         assertEquals(ErrorCode.BALANCE_IS_NOT_EMPTY, accountException.getErrorCode());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("분할 계좌의 계좌 잔액이 남아있음 - 계좌 삭제 실패")
+    void deleteAccount_shardedBalanceIsNotEmpty() {
+        //given
+        AccountUser accountUser = AccountUser.builder()
+                .name("POBI").build();
+        accountUser.setId(12L);
+        Account account = Account.builder()
+                .accountUser(accountUser)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(100L)
+                .slotCount(2)
+                .accountNumber("1000000012")
+                .build();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(accountUser));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountSlotRepository.sumBalance(account))
+                .willReturn(0L);
+
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> accountService.deleteAccount(12L, "1000000012"));
+
+        //then
+        assertEquals(ErrorCode.BALANCE_IS_NOT_EMPTY, accountException.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("분할 계좌 - 한 슬롯의 잔액이 평균의 절반보다 적으면 다시 나눔")
+    void rebalanceSlots() {
+        //given
+        Account account = Account.builder()
+                .accountNumber("1000000012")
+                .slotCount(3)
+                .build();
+        List<AccountSlot> slots = Arrays.asList(
+                AccountSlot.builder().account(account).slotIndex(0).balance(100L).build(),
+                AccountSlot.builder().account(account).slotIndex(1).balance(5000L).build(),
+                AccountSlot.builder().account(account).slotIndex(2).balance(4901L).build());
+        given(accountRepository.findByAccountNumber("1000000012"))
+                .willReturn(Optional.of(account));
+        given(accountSlotRepository.findAllByAccountOrderBySlotIndex(account))
+                .willReturn(slots);
+
+        //when
+        boolean rebalanced = accountService.rebalanceSlots("1000000012");
+
+        //then
+        assertTrue(rebalanced);
+        assertEquals(3334L, slots.get(0).getBalance());
+        assertEquals(3334L, slots.get(1).getBalance());
+        assertEquals(3333L, slots.get(2).getBalance());
+    }
+}
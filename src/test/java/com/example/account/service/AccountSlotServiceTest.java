@@ -0,0 +1,181 @@
+package com.example.account.service;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.domain.Account;
+import com.example.account.dto.TransactionDto;
+import com.example.account.repository.AccountRepository;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountSlotServiceTest {
+    @Mock
+    private LockService lockService;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private AccountSlotService accountSlotService;
+
+    @BeforeEach
+    void setUp() {
+        @SuppressWarnings("unchecked")
+        Map<String, Integer> slotCounts = (Map<String, Integer>)
+                ReflectionTestUtils.getField(accountSlotService, "slotCounts");
+        slotCounts.put("1000000000", 4);
+    }
+
+    @Test
+    @DisplayName("분할 계좌 - 락을 잡은 슬롯에서 차감")
+    void useBalanceFromSlot() {
+        //given
+        given(lockService.tryLock(startsWith("1000000000:"))).willReturn(true);
+        given(transactionService.useSlotBalance(eq(12L), eq("1000000000"), anyInt(), eq(1000L)))
+                .willReturn(Optional.of(TransactionDto.builder().transactionId("txid").build()));
+
+        //when
+        TransactionDto transactionDto = accountSlotService.useBalance(12L, "1000000000", 1000L);
+
+        //then
+        assertEquals("txid", transactionDto.getTransactionId());
+        verify(lockService, times(1)).tryLock(startsWith("1000000000:"));
+        verify(lockService, times(1)).unLock(startsWith("1000000000:"));
+        verify(transactionService, times(0)).useSlotsBalance(anyLong(), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("분할 계좌 - 사용 중인 슬롯은 건너뛰고 다음 슬롯에서 차감")
+    void useBalanceSkipLockedSlot() {
+        //given
+        willAnswer(invocation -> invocation.<String>getArgument(0).endsWith(":2"))
+                .given(lockService).tryLock(anyString());
+        given(transactionService.useSlotBalance(12L, "1000000000", 2, 1000L))
+                .willReturn(Optional.of(TransactionDto.builder().transactionId("txid").build()));
+
+        //when
+        TransactionDto transactionDto = accountSlotService.useBalance(12L, "1000000000", 1000L);
+
+        //then
+        assertEquals("txid", transactionDto.getTransactionId());
+        verify(lockService, times(1)).unLock("1000000000:2");
+    }
+
+    @Test
+    @DisplayName("분할 계좌 - 잔액이 충분한 슬롯이 없으면 모든 슬롯의 락을 잡고 나눠서 차감")
+    void useBalanceAcrossSlots() {
+        //given
+        given(lockService.tryLock(anyString())).willReturn(true);
+        given(transactionService.useSlotBalance(eq(12L), eq("1000000000"), anyInt(), eq(5000L)))
+                .willReturn(Optional.empty());
+        given(transactionService.useSlotsBalance(12L, "1000000000", 5000L))
+                .willReturn(TransactionDto.builder().transactionId("txid").build());
+
+        //when
+        TransactionDto transactionDto = accountSlotService.useBalance(12L, "1000000000", 5000L);
+
+        //then
+        assertEquals("txid", transactionDto.getTransactionId());
+        verify(transactionService, times(4)).useSlotBalance(eq(12L), eq("1000000000"), anyInt(), eq(5000L));
+        for (int i = 0; i < 4; i++) {
+            verify(lockService, times(1)).lock("1000000000:" + i);
+        }
+        verify(lockService, times(8)).unLock(startsWith("1000000000:"));
+    }
+
+    @Test
+    @DisplayName("분할 계좌 - 슬롯 락 실패 시 잡았던 슬롯 락 해제")
+    void useBalanceAcrossSlots_lockFailed() {
+        //given
+        given(lockService.tryLock(anyString())).willReturn(false);
+        willAnswer(invocation -> {
+            if (invocation.<String>getArgument(0).endsWith(":2")) {
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+            return null;
+        }).given(lockService).lock(anyString());
+
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> accountSlotService.useBalance(12L, "1000000000", 1000L));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, accountException.getErrorCode());
+        verify(lockService, times(1)).unLock("1000000000:0");
+        verify(lockService, times(1)).unLock("1000000000:1");
+        verify(lockService, times(0)).unLock("1000000000:2");
+    }
+
+    @Test
+    @DisplayName("계좌 분할 - 계좌 락을 잡고 분할한 뒤 분할 계좌로 처리")
+    void split() {
+        //when
+        accountSlotService.split("1000000012", 8);
+
+        //then
+        verify(lockService, times(1)).lock("1000000012");
+        verify(accountService, times(1)).splitAccount("1000000012", 8);
+        verify(lockService, times(1)).unLock("1000000012");
+        assertTrue(accountSlotService.isSharded("1000000012"));
+    }
+
+    @Test
+    @DisplayName("계좌 분할 - 슬롯 수가 범위를 벗어나면 실패")
+    void split_invalidSlotCount() {
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> accountSlotService.split("1000000012", 1));
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, accountException.getErrorCode());
+        verify(accountService, times(0)).splitAccount(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("rebalance 주기 - DB 에 없는 분할 계좌는 빠지고, 한 계좌가 실패해도 나머지는 계속")
+    void rebalanceAll() {
+        //given
+        given(accountRepository.findAllBySlotCountGreaterThan(0))
+                .willReturn(Arrays.asList(
+                        Account.builder().accountNumber("1000000001").slotCount(2).build(),
+                        Account.builder().accountNumber("1000000002").slotCount(2).build()));
+        given(accountService.isSlotsUnbalanced(anyString())).willReturn(true);
+        given(accountService.rebalanceSlots("1000000001"))
+                .willThrow(new ObjectOptimisticLockingFailureException(Account.class, 1L));
+        given(accountService.rebalanceSlots("1000000002")).willReturn(true);
+
+        //when
+        ReflectionTestUtils.invokeMethod(accountSlotService, "rebalanceAll");
+
+        //then
+        assertFalse(accountSlotService.isSharded("1000000000"));
+        assertTrue(accountSlotService.isSharded("1000000001"));
+        assertTrue(accountSlotService.isSharded("1000000002"));
+        verify(accountService, times(1)).rebalanceSlots("1000000002");
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.account.service;
+
+import com.example.account.dto.CacheStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용하지 않은 항목 제거")
+    void evictLeastRecentlyUsed() {
+        //given
+        BoundedCache<Long, String> cache = new BoundedCache<>(2);
+        cache.put(1L, "a");
+        cache.put(2L, "b");
+        cache.get(1L);
+
+        //when
+        cache.put(3L, "c");
+
+        //then
+        assertEquals("a", cache.get(1L));
+        assertNull(cache.get(2L));
+        assertEquals("c", cache.get(3L));
+        assertEquals(1, cache.stats().getEvictionCount());
+    }
+
+    @Test
+    @DisplayName("조회 도중 무효화되면 저장하지 않음")
+    void skipPutWhenInvalidatedWhileLoading() {
+        //given
+        BoundedCache<Long, String> cache = new BoundedCache<>(10);
+        long token = cache.invalidationToken(1L);
+
+        //when
+        cache.remove(1L);
+        cache.put(1L, "stale", token);
+
+        //then
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    @DisplayName("다른 키가 무효화된 경우에는 저장")
+    void putWhenOtherKeyInvalidated() {
+        //given
+        BoundedCache<Long, String> cache = new BoundedCache<>(10);
+        long token = cache.invalidationToken(1L);
+
+        //when
+        cache.remove(2L);
+        cache.put(1L, "a", token);
+
+        //then
+        assertEquals("a", cache.get(1L));
+    }
+
+    @Test
+    void stats() {
+        //given
+        BoundedCache<Long, String> cache = new BoundedCache<>(10);
+        cache.put(1L, "a");
+
+        //when
+        cache.get(1L);
+        cache.get(1L);
+        cache.get(1L);
+        cache.get(2L);
+        CacheStats stats = cache.stats();
+
+        //then
+        assertEquals(1, stats.getSize());
+        assertEquals(3, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(0.75, stats.getHitRatio());
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.account.service;
+
+import com.example.account.dto.FailedTransaction;
+import com.example.account.repository.TransactionJdbcRepository;
+import com.example.account.type.TransactionType;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FailedTransactionRecorderTest {
+    @Mock
+    private TransactionJdbcRepository transactionJdbcRepository;
+
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @InjectMocks
+    private FailedTransactionRecorder failedTransactionRecorder;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("종료 시 큐에 남은 실패 거래를 모두 저장")
+    void flushOnShutdown() throws InterruptedException {
+        //given
+        List<FailedTransaction> written = Collections.synchronizedList(new ArrayList<>());
+        given(transactionIdGenerator.generate()).willReturn("txid");
+        willAnswer(invocation -> {
+            List<FailedTransaction> batch = invocation.getArgument(0);
+            written.addAll(batch);
+            return batch.size();
+        }).given(transactionJdbcRepository).insertFailedTransactions(anyList());
+        ReflectionTestUtils.setField(failedTransactionRecorder, "batchSize", 10);
+        failedTransactionRecorder.start();
+
+        //when
+        for (int i = 0; i < 500; i++) {
+            failedTransactionRecorder.recordUseFailure("1000000000", 100L);
+        }
+        failedTransactionRecorder.recordCancelFailure("1000000000", 200L);
+        failedTransactionRecorder.stop();
+
+        //then
+        assertEquals(501, written.size());
+        assertEquals(0, failedTransactionRecorder.pending());
+        assertEquals(TransactionType.CANCEL_USE_BALANCE, written.get(500).getTransactionType());
+        assertEquals(200L, written.get(500).getAmount());
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 요청 스레드에서 직접 저장")
+    void writeSynchronouslyWhenQueueIsFull() throws InterruptedException {
+        //given
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Set<String> writerThreads = Collections.synchronizedSet(new HashSet<>());
+        given(transactionIdGenerator.generate()).willReturn("txid");
+        willAnswer(invocation -> {
+            writerThreads.add(Thread.currentThread().getName());
+            if (Thread.currentThread().getName().equals("failed-transaction-writer")) {
+                writerBlocked.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return 1;
+        }).given(transactionJdbcRepository).insertFailedTransactions(anyList());
+        ReflectionTestUtils.setField(failedTransactionRecorder, "queueCapacity", 1);
+        ReflectionTestUtils.setField(failedTransactionRecorder, "offerTimeoutMs", 10L);
+        failedTransactionRecorder.start();
+
+        //when
+        failedTransactionRecorder.recordUseFailure("1000000000", 100L);
+        assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+        failedTransactionRecorder.recordUseFailure("1000000000", 100L);
+        failedTransactionRecorder.recordUseFailure("1000000000", 100L);
+        release.countDown();
+        failedTransactionRecorder.stop();
+
+        //then
+        assertTrue(writerThreads.contains(Thread.currentThread().getName()));
+        assertTrue(writerThreads.contains("failed-transaction-writer"));
+    }
+
+    @Test
+    @DisplayName("묶음 저장이 실패하면 재시도")
+    void retryBatchWrite() {
+        //given
+        List<FailedTransaction> batch = List.of(failedTransaction(100L), failedTransaction(200L));
+        given(transactionJdbcRepository.insertFailedTransactions(batch))
+                .willThrow(new DataAccessResourceFailureException("connection refused"))
+                .willReturn(2);
+        ReflectionTestUtils.setField(failedTransactionRecorder, "retryBackoffMs", 1L);
+
+        //when
+        ReflectionTestUtils.invokeMethod(failedTransactionRecorder, "write", batch, 3);
+
+        //then
+        verify(transactionJdbcRepository, times(2)).insertFailedTransactions(batch);
+        assertEquals(0, meterRegistry.counter("account.failed-transaction.dropped").count());
+    }
+
+    @Test
+    @DisplayName("재시도도 실패하면 한 건씩 저장하고 실패한 기록만 버림")
+    void writeOneByOneWhenRetriesExhausted() {
+        //given
+        List<FailedTransaction> batch = List.of(
+                failedTransaction(100L), failedTransaction(200L), failedTransaction(300L));
+        List<Long> written = new ArrayList<>();
+        willAnswer(invocation -> {
+            List<FailedTransaction> rows = invocation.getArgument(0);
+            if (rows.size() > 1 || rows.get(0).getAmount() == 200L) {
+                throw new DataAccessResourceFailureException("bad row");
+            }
+            written.add(rows.get(0).getAmount());
+            return 1;
+        }).given(transactionJdbcRepository).insertFailedTransactions(anyList());
+        ReflectionTestUtils.setField(failedTransactionRecorder, "retryBackoffMs", 1L);
+
+        //when
+        ReflectionTestUtils.invokeMethod(failedTransactionRecorder, "write", batch, 2);
+
+        //then
+        assertEquals(List.of(100L, 300L), written);
+        assertEquals(1, meterRegistry.counter("account.failed-transaction.dropped").count());
+    }
+
+    private static FailedTransaction failedTransaction(Long amount) {
+        return FailedTransaction.builder()
+                .transactionType(TransactionType.USE_BALANCE)
+                .accountNumber("1000000000")
+                .amount(amount)
+                .transactionId("txid-" + amount)
+                .build();
+    }
+}
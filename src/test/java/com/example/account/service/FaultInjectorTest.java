@@ -0,0 +1,133 @@
+package com.example.account.service;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.dto.FaultRule;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.FaultPoint;
+import com.example.account.type.LatencyDistribution;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FaultInjectorTest {
+    private final FaultInjector faultInjector = new FaultInjector();
+
+    @Test
+    @DisplayName("규칙이 없는 지점은 바로 통과")
+    void injectWithoutRule() {
+        //given
+        enable();
+        faultInjector.setRule(FaultPoint.REDIS, FaultRule.builder()
+                .latency(LatencyDistribution.FIXED)
+                .latencyMs(1000L)
+                .build());
+
+        //when
+        long startedAt = System.nanoTime();
+        faultInjector.inject(FaultPoint.INSIDE_LOCK);
+
+        //then
+        assertTrue(System.nanoTime() - startedAt < 500_000_000L);
+    }
+
+    @Test
+    @DisplayName("고정 지연 주입")
+    void injectFixedLatency() {
+        //given
+        enable();
+        faultInjector.setRule(FaultPoint.INSIDE_LOCK, FaultRule.builder()
+                .latency(LatencyDistribution.FIXED)
+                .latencyMs(50L)
+                .build());
+
+        //when
+        long startedAt = System.nanoTime();
+        faultInjector.inject(FaultPoint.INSIDE_LOCK);
+
+        //then
+        assertTrue(System.nanoTime() - startedAt >= 50_000_000L);
+    }
+
+    @Test
+    @DisplayName("에러율 1 이면 지정한 에러 코드로 실패")
+    void injectError() {
+        //given
+        enable();
+        faultInjector.setRule(FaultPoint.REPOSITORY, FaultRule.builder()
+                .latency(LatencyDistribution.NONE)
+                .errorRate(1.0)
+                .errorCode(ErrorCode.ACCOUNT_TRANSACTION_LOCK)
+                .build());
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> faultInjector.inject(FaultPoint.REPOSITORY));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("규칙 삭제 후에는 주입하지 않음")
+    void clearRule() {
+        //given
+        enable();
+        faultInjector.setRule(FaultPoint.REPOSITORY, FaultRule.builder()
+                .latency(LatencyDistribution.NONE)
+                .errorRate(1.0)
+                .build());
+
+        //when
+        faultInjector.clearRule(FaultPoint.REPOSITORY);
+
+        //then
+        assertDoesNotThrow(() -> faultInjector.inject(FaultPoint.REPOSITORY));
+        assertTrue(faultInjector.getRules().isEmpty());
+    }
+
+    @Test
+    @DisplayName("주입이 꺼져 있으면 규칙 설정 실패")
+    void setRuleWhenDisabled() {
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> faultInjector.setRule(FaultPoint.INSIDE_LOCK, FaultRule.builder()
+                        .latency(LatencyDistribution.FIXED)
+                        .latencyMs(2000L)
+                        .build()));
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("설정 문자열로 초기 규칙 등록")
+    void initRules() {
+        //given
+        enable();
+        ReflectionTestUtils.setField(faultInjector, "initialRules",
+                "INSIDE_LOCK=FIXED:2000, REPOSITORY=UNIFORM:5:20:0.01:ACCOUNT_TRANSACTION_LOCK");
+
+        //when
+        faultInjector.init();
+
+        //then
+        Map<FaultPoint, FaultRule> rules = faultInjector.getRules();
+        assertEquals(2, rules.size());
+        assertEquals(LatencyDistribution.FIXED, rules.get(FaultPoint.INSIDE_LOCK).getLatency());
+        assertEquals(2000L, rules.get(FaultPoint.INSIDE_LOCK).getLatencyMs());
+        FaultRule repository = rules.get(FaultPoint.REPOSITORY);
+        assertEquals(LatencyDistribution.UNIFORM, repository.getLatency());
+        assertEquals(5L, repository.getLatencyMs());
+        assertEquals(20L, repository.getMaxLatencyMs());
+        assertEquals(0.01, repository.getErrorRate());
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, repository.getErrorCode());
+    }
+
+    private void enable() {
+        ReflectionTestUtils.setField(faultInjector, "enabled", true);
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.account.service;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.dto.UseBalance;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyAspectTest {
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private ProceedingJoinPoint proceedingJoinPoint;
+
+    @Mock
+    private MethodSignature methodSignature;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule());
+
+    private IdempotencyAspect idempotencyAspect;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyAspect = new IdempotencyAspect(idempotencyStore, objectMapper);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key 가 없으면 그대로 처리")
+    void proceedWithoutKey() throws Throwable {
+        //given
+        given(proceedingJoinPoint.proceed()).willReturn("response");
+
+        //when
+        Object result = idempotencyAspect.aroundMethod(proceedingJoinPoint);
+
+        //then
+        assertEquals("response", result);
+        verifyNoInteractions(idempotencyStore);
+    }
+
+    @Test
+    @DisplayName("처음 들어온 키는 처리 후 응답 저장")
+    void storeResponseOfFirstRequest() throws Throwable {
+        //given
+        request.addHeader("Idempotency-Key", "key-1");
+        givenSignature();
+        UseBalance.Response response = response();
+        given(idempotencyStore.find(anyString())).willReturn(Optional.empty());
+        given(idempotencyStore.tryStart(anyString())).willReturn(true);
+        given(proceedingJoinPoint.proceed()).willReturn(response);
+
+        //when
+        Object result = idempotencyAspect.aroundMethod(proceedingJoinPoint);
+
+        //then
+        assertSame(response, result);
+        verify(idempotencyStore).tryStart("useBalance:1000000000:12:key-1");
+        verify(idempotencyStore).complete("useBalance:1000000000:12:key-1",
+                objectMapper.writeValueAsString(response));
+    }
+
+    @Test
+    @DisplayName("이미 처리한 키는 락/DB 없이 저장된 응답 반환")
+    void returnStoredResponse() throws Throwable {
+        //given
+        request.addHeader("Idempotency-Key", "key-1");
+        givenSignature();
+        given(idempotencyStore.find("useBalance:1000000000:12:key-1"))
+                .willReturn(Optional.of(objectMapper.writeValueAsString(response())));
+
+        //when
+        UseBalance.Response result = (UseBalance.Response)
+                idempotencyAspect.aroundMethod(proceedingJoinPoint);
+
+        //then
+        assertEquals("1000000000", result.getAccountNumber());
+        assertEquals("txid", result.getTransactionId());
+        verify(proceedingJoinPoint, never()).proceed();
+        verify(idempotencyStore, never()).tryStart(anyString());
+    }
+
+    @Test
+    @DisplayName("같은 키의 요청이 처리 중이면 실패")
+    void rejectWhilePending() throws Throwable {
+        //given
+        request.addHeader("Idempotency-Key", "key-1");
+        givenSignature();
+        given(idempotencyStore.find(anyString()))
+                .willReturn(Optional.of(IdempotencyStore.PENDING));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> idempotencyAspect.aroundMethod(proceedingJoinPoint));
+
+        //then
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS, exception.getErrorCode());
+        verify(proceedingJoinPoint, never()).proceed();
+    }
+
+    @Test
+    @DisplayName("처리에 실패하면 키를 해제해서 다시 시도 가능")
+    void releaseKeyOnFailure() throws Throwable {
+        //given
+        request.addHeader("Idempotency-Key", "key-1");
+        givenSignature();
+        given(idempotencyStore.find(anyString())).willReturn(Optional.empty());
+        given(idempotencyStore.tryStart(anyString())).willReturn(true);
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+
+        //when
+        assertThrows(AccountException.class,
+                () -> idempotencyAspect.aroundMethod(proceedingJoinPoint));
+
+        //then
+        verify(idempotencyStore).release("useBalance:1000000000:12:key-1");
+        verify(idempotencyStore, never()).complete(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("같은 키라도 사용자가 다르면 다른 요청")
+    void scopeKeyByUser() throws Throwable {
+        //given
+        request.addHeader("Idempotency-Key", "key-1");
+        givenSignature(13L);
+        given(idempotencyStore.find(anyString())).willReturn(Optional.empty());
+        given(idempotencyStore.tryStart(anyString())).willReturn(true);
+        given(proceedingJoinPoint.proceed()).willReturn(response());
+
+        //when
+        idempotencyAspect.aroundMethod(proceedingJoinPoint);
+
+        //then
+        verify(idempotencyStore).tryStart("useBalance:1000000000:13:key-1");
+    }
+
+    private void givenSignature() {
+        givenSignature(12L);
+    }
+
+    private void givenSignature(Long userId) {
+        given(proceedingJoinPoint.getSignature()).willReturn(methodSignature);
+        given(methodSignature.getName()).willReturn("useBalance");
+        given(proceedingJoinPoint.getArgs())
+                .willReturn(new Object[]{new UseBalance.Request(userId, "1000000000", 1000L)});
+        lenient().when(methodSignature.getReturnType()).thenReturn((Class) UseBalance.Response.class);
+    }
+
+    private static UseBalance.Response response() {
+        return UseBalance.Response.builder()
+                .accountNumber("1000000000")
+                .transactionResultType(TransactionResultType.SUCCESS)
+                .transactionId("txid")
+                .amount(1000L)
+                .transactedAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .build();
+    }
+}
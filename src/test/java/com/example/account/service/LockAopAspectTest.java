@@ -4,14 +4,16 @@ import com.example.account.Exception.AccountException;
 import com.example.account.dto.UseBalance;
 import com.example.account.type.ErrorCode;
 import org.aspectj.lang.ProceedingJoinPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -21,12 +23,25 @@ class LockAopAspectTest {
     @Mock
     private LockService lockService;
 
+    @Mock
+    private RedisBalanceEngine redisBalanceEngine;
+
+    @Mock
+    private AccountSlotService accountSlotService;
+
     @Mock
     private ProceedingJoinPoint proceedingJoinPoint;
 
-    @InjectMocks
     private LockAopAspect lockAopAspect;
 
+    @BeforeEach
+    void setUp() {
+        AccountLockTemplate accountLockTemplate = new AccountLockTemplate(
+                lockService, redisBalanceEngine, accountSlotService, new SimpleMeterRegistry());
+        accountLockTemplate.init();
+        lockAopAspect = new LockAopAspect(accountLockTemplate);
+    }
+
     @Test
     void lockAndUnlock() throws Throwable {
         //given
@@ -51,4 +66,20 @@ class LockAopAspectTest {
         assertEquals(lockArgumentCaptor.getValue(), "12345");
         assertEquals(unlockArgumentCaptor.getValue(), "12345");
     }
-}
\ No newline at end of file
+
+    @Test
+    void skipLockForRedisBalanceAccount() throws Throwable {
+        //given
+        UseBalance.Request request = new UseBalance.Request(
+                123L, "12345", 1000L);
+        given(redisBalanceEngine.isManaged("12345")).willReturn(true);
+
+        //when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, request);
+
+        //then
+        verify(proceedingJoinPoint, times(1)).proceed();
+        verify(lockService, times(0)).lock(anyString());
+        verify(lockService, times(0)).unLock(anyString());
+    }
+}
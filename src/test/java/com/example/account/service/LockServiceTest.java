@@ -1,18 +1,32 @@
 package com.example.account.service;
 
 import com.example.account.Exception.AccountException;
+import com.example.account.dto.FaultRule;
 import com.example.account.type.ErrorCode;
+import com.example.account.type.FaultPoint;
+import com.example.account.type.LatencyDistribution;
+import com.example.account.type.LockMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class LockServiceTest {
@@ -22,9 +36,20 @@ class LockServiceTest {
     @Mock
     RLock lock;
 
+    @Mock
+    FaultInjector faultInjector;
+
+    @Spy
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     LockService lockService;
 
+    @BeforeEach
+    void setUp() {
+        lockService.init();
+    }
+
     @Test
     void successGetLock() throws InterruptedException {
         //given
@@ -57,4 +82,100 @@ class LockServiceTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void failedGetLockByRedisFault() {
+        //given
+        FaultInjector redisFault = new FaultInjector();
+        ReflectionTestUtils.setField(redisFault, "enabled", true);
+        redisFault.setRule(FaultPoint.REDIS, FaultRule.builder()
+                .latency(LatencyDistribution.NONE)
+                .errorRate(1.0)
+                .errorCode(ErrorCode.INTERNAL_SERVER_ERROR)
+                .build());
+        LockService faultyLockService = new LockService(redissonClient, redisFault, meterRegistry);
+        faultyLockService.init();
+
+        //when
+        AccountException accountException = assertThrows(
+                AccountException.class, () ->
+                        faultyLockService.lock("1234"));
+
+        //then
+        assertEquals(ErrorCode.INTERNAL_SERVER_ERROR, accountException.getErrorCode());
+        verifyNoInteractions(redissonClient);
+    }
+
+    @Test
+    void successGetLocalLock() {
+        //given
+        ReflectionTestUtils.setField(lockService, "lockMode", LockMode.LOCAL);
+
+        //when
+        lockService.lock("1234");
+        lockService.unLock("1234");
+
+        //then
+        verifyNoInteractions(redissonClient);
+    }
+
+    @Test
+    void failedGetLocalLock() throws InterruptedException {
+        //given
+        ReflectionTestUtils.setField(lockService, "lockMode", LockMode.LOCAL);
+        ReflectionTestUtils.setField(lockService, "waitTimeMs", 10L);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            lockService.lock("1234");
+            locked.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            } finally {
+                lockService.unLock("1234");
+            }
+        });
+        holder.start();
+        locked.await(5, TimeUnit.SECONDS);
+
+        //when
+        AccountException accountException = assertThrows(
+                AccountException.class, () ->
+                        lockService.lock("1234"));
+        release.countDown();
+        holder.join();
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, accountException.getErrorCode());
+    }
+
+    @Test
+    void hybridLockReleasesLocalLockWhenRedisLockFailed() throws InterruptedException {
+        //given
+        ReflectionTestUtils.setField(lockService, "lockMode", LockMode.HYBRID);
+        given(redissonClient.getLock(anyString())).
+                willReturn(lock);
+        given(lock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(false)
+                .willReturn(true);
+
+        //when
+        assertThrows(AccountException.class, () -> lockService.lock("1234"));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread other = new Thread(() -> {
+            try {
+                lockService.lock("1234");
+                lockService.unLock("1234");
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        other.start();
+        other.join();
+
+        //then
+        assertNull(failure.get());
+        verify(lock, times(2)).tryLock(anyLong(), anyLong(), any());
+        verify(lock, times(1)).unlock();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.account.service;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.type.ErrorCode;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticRetryAspectTest {
+    @Mock
+    private ProceedingJoinPoint proceedingJoinPoint;
+
+    @Mock
+    private Signature signature;
+
+    @InjectMocks
+    private OptimisticRetryAspect optimisticRetryAspect;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(optimisticRetryAspect, "baseBackoffMs", 1L);
+        ReflectionTestUtils.setField(optimisticRetryAspect, "maxBackoffMs", 2L);
+    }
+
+    @Test
+    @DisplayName("버전 충돌 시 재시도해서 성공")
+    void retryOnOptimisticLockFailure() throws Throwable {
+        //given
+        given(proceedingJoinPoint.proceed())
+                .willThrow(conflict())
+                .willThrow(conflict())
+                .willReturn("ok");
+
+        //when
+        Object result = optimisticRetryAspect.aroundMethod(proceedingJoinPoint);
+
+        //then
+        assertEquals("ok", result);
+        verify(proceedingJoinPoint, times(3)).proceed();
+    }
+
+    @Test
+    @DisplayName("재시도 횟수를 넘으면 ACCOUNT_TRANSACTION_LOCK")
+    void failWhenRetriesExhausted() throws Throwable {
+        //given
+        ReflectionTestUtils.setField(optimisticRetryAspect, "maxAttempts", 3);
+        given(proceedingJoinPoint.proceed()).willThrow(conflict());
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> optimisticRetryAspect.aroundMethod(proceedingJoinPoint));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(proceedingJoinPoint, times(3)).proceed();
+    }
+
+    @Test
+    @DisplayName("다른 예외는 재시도하지 않음")
+    void doNotRetryOtherExceptions() throws Throwable {
+        //given
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> optimisticRetryAspect.aroundMethod(proceedingJoinPoint));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        verify(proceedingJoinPoint, times(1)).proceed();
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException("Account", 1L);
+    }
+}
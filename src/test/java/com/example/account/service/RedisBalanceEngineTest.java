@@ -0,0 +1,135 @@
+package com.example.account.service;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.TransactionDto;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Optional;
+
+import static com.example.account.type.TransactionType.CANCEL_USE_BALANCE;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 내장 Redis 로 Lua 스크립트 차감/복구와 저널의 DB 반영을 확인.
+ */
+@SpringBootTest
+class RedisBalanceEngineTest {
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private RedisBalanceEngine redisBalanceEngine;
+
+    @Autowired
+    private RedisBalancePersister redisBalancePersister;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @Test
+    @DisplayName("Redis 에서 차감/취소 후 저널을 DB 에 반영")
+    void useAndCancelBalance() throws InterruptedException {
+        //given
+        String accountNumber = accountService.createAccount(3L, 10000L).getAccountNumber();
+        redisBalanceEngine.register(accountNumber);
+
+        //when
+        TransactionDto used = transactionService.useBalance(3L, accountNumber, 3000L);
+        TransactionDto canceled = transactionService.cancelBalance(
+                used.getTransactionId(), accountNumber, 3000L);
+        TransactionDto usedAgain = transactionService.useBalance(3L, accountNumber, 500L);
+        AccountException exceed = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(3L, accountNumber, 100000L));
+        AccountException userUnMatch = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(1L, accountNumber, 100L));
+
+        //then
+        assertEquals(7000L, used.getBalanceSnapshot());
+        assertEquals(10000L, canceled.getBalanceSnapshot());
+        assertEquals(9500L, usedAgain.getBalanceSnapshot());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exceed.getErrorCode());
+        assertEquals(ErrorCode.USER_ACCOUNT_UN_MATCH, userUnMatch.getErrorCode());
+        assertEquals(Optional.of(9500L), redisBalanceEngine.getBalance(accountNumber));
+
+        awaitPersisted(usedAgain.getTransactionId());
+        assertEquals(9500L, accountRepository.findByAccountNumber(accountNumber)
+                .get().getBalance());
+        Transaction cancelTransaction = transactionRepository
+                .findByTransactionId(canceled.getTransactionId()).get();
+        assertEquals(CANCEL_USE_BALANCE, cancelTransaction.getTransactionType());
+        assertEquals(10000L, cancelTransaction.getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("Redis 에 잔액이 없으면 DB 에서 다시 올림")
+    void rebuildFromDatabase() throws InterruptedException {
+        //given
+        String accountNumber = accountService.createAccount(3L, 5000L).getAccountNumber();
+        redisBalanceEngine.register(accountNumber);
+        TransactionDto used = transactionService.useBalance(3L, accountNumber, 1000L);
+        awaitPersisted(used.getTransactionId());
+
+        //when
+        redissonClient.getKeys().delete("ACBAL:" + accountNumber);
+        redisBalanceEngine.register(accountNumber);
+
+        //then
+        assertEquals(Optional.of(4000L), redisBalanceEngine.getBalance(accountNumber));
+    }
+
+    @Test
+    @DisplayName("계좌 해지는 커밋 뒤 Redis 에 반영")
+    void unregisterAfterCommit() throws InterruptedException {
+        //given
+        // 계좌 잔액은 @Min(100) 이므로 만들 때는 잔액을 넣고 엔진에서 0 으로 만든다.
+        String accountNumber = accountService.createAccount(3L, 1000L).getAccountNumber();
+        redisBalanceEngine.register(accountNumber);
+        // 잔액 0 이 DB 에 반영되면 계좌 엔티티를 저장할 수 없으므로 해지할 때까지 반영을 멈춘다.
+        redisBalancePersister.stop();
+        try {
+            transactionService.useBalance(3L, accountNumber, 1000L);
+
+            //when
+            accountService.deleteAccount(3L, accountNumber);
+            AccountException unregistered = assertThrows(AccountException.class,
+                    () -> transactionService.useBalance(3L, accountNumber, 100L));
+
+            //then
+            assertEquals(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED, unregistered.getErrorCode());
+            assertEquals("UNREGISTERED", redissonClient
+                    .getMap("ACBAL:" + accountNumber, StringCodec.INSTANCE).get("status"));
+        } finally {
+            redisBalancePersister.start();
+        }
+    }
+
+    private void awaitPersisted(String transactionId) throws InterruptedException {
+        // 백그라운드 반영 스레드와 경합할 수 있으므로 반영될 때까지 기다린다.
+        for (int i = 0; i < 50; i++) {
+            redisBalancePersister.drain();
+            if (transactionRepository.findByTransactionId(transactionId).isPresent()) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("journal was not persisted: " + transactionId);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.account.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeTransactionIdGeneratorTest {
+
+    @Test
+    @DisplayName("같은 시각에 발급해도 문자열 순서대로 증가")
+    void monotonicWithinSameMillisecond() {
+        //given
+        SnowflakeTransactionIdGenerator generator =
+                new SnowflakeTransactionIdGenerator(1, () -> 1_800_000_000_000L);
+
+        //when
+        String previous = generator.generate();
+        for (int i = 0; i < 10_000; i++) {
+            String next = generator.generate();
+
+            //then
+            assertEquals(SnowflakeTransactionIdGenerator.ENCODED_LENGTH, next.length());
+            assertTrue(next.compareTo(previous) > 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("시계가 뒤로 가도 ID는 줄어들지 않음")
+    void monotonicWhenClockMovesBackwards() {
+        //given
+        AtomicLong clock = new AtomicLong(1_800_000_000_000L);
+        SnowflakeTransactionIdGenerator generator =
+                new SnowflakeTransactionIdGenerator(1, clock::get);
+
+        //when
+        long first = generator.nextId();
+        clock.addAndGet(-1_000);
+        long second = generator.nextId();
+
+        //then
+        assertTrue(second > first);
+    }
+
+    @Test
+    @DisplayName("노드가 다르면 같은 시각이라도 다른 ID")
+    void differentNodes() {
+        //given
+        SnowflakeTransactionIdGenerator node1 =
+                new SnowflakeTransactionIdGenerator(1, () -> 1_800_000_000_000L);
+        SnowflakeTransactionIdGenerator node2 =
+                new SnowflakeTransactionIdGenerator(2, () -> 1_800_000_000_000L);
+
+        //when
+        //then
+        assertNotEquals(node1.generate(), node2.generate());
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 발급 - 중복 없음")
+    void noDuplicateUnderConcurrency() throws Exception {
+        //given
+        SnowflakeTransactionIdGenerator generator = new SnowflakeTransactionIdGenerator(3);
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = new ArrayList<>();
+
+        //when
+        for (int t = 0; t < 16; t++) {
+            futures.add(executorService.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    issued.add(generator.generate());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        //then
+        assertEquals(160_000, issued.size());
+    }
+
+    @Test
+    void invalidNodeId() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeTransactionIdGenerator(1024));
+    }
+}
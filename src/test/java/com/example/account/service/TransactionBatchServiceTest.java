@@ -0,0 +1,159 @@
+package com.example.account.service;
+
+import com.example.account.Exception.AccountException;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchServiceTest {
+    @Mock
+    private LockService lockService;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private AccountSerialExecutor accountSerialExecutor;
+
+    @Mock
+    private AccountSlotService accountSlotService;
+
+    @Mock
+    private RedisBalanceEngine redisBalanceEngine;
+
+    private TransactionBatchService transactionBatchService;
+
+    @BeforeEach
+    void setUp() {
+        AccountLockTemplate accountLockTemplate = new AccountLockTemplate(
+                lockService, redisBalanceEngine, accountSlotService, new SimpleMeterRegistry());
+        accountLockTemplate.init();
+        transactionBatchService = new TransactionBatchService(
+                accountLockTemplate, transactionService, accountSerialExecutor, accountSlotService);
+    }
+
+    @Test
+    @DisplayName("계좌 별로 묶어서 계좌 당 한 번씩 락 취득")
+    void useBalanceBatch_groupByAccount() {
+        //given
+        given(transactionService.useBalanceGroup(eq("1000000000"), anyList()))
+                .willReturn(Arrays.asList(
+                        UseBalanceBatch.Result.success(transaction("1000000000", "a")),
+                        UseBalanceBatch.Result.success(transaction("1000000000", "c"))));
+        given(transactionService.useBalanceGroup(eq("1000000001"), anyList()))
+                .willReturn(Arrays.asList(
+                        UseBalanceBatch.Result.success(transaction("1000000001", "b"))));
+
+        //when
+        List<UseBalanceBatch.Result> results = transactionBatchService.useBalanceBatch(
+                Arrays.asList(
+                        new UseBalance.Request(1L, "1000000000", 100L),
+                        new UseBalance.Request(1L, "1000000001", 100L),
+                        new UseBalance.Request(1L, "1000000000", 100L)));
+
+        //then
+        verify(lockService, times(1)).lock("1000000000");
+        verify(lockService, times(1)).unLock("1000000000");
+        verify(lockService, times(1)).lock("1000000001");
+        verify(lockService, times(1)).unLock("1000000001");
+        assertEquals("a", results.get(0).getTransaction().getTransactionId());
+        assertEquals("b", results.get(1).getTransaction().getTransactionId());
+        assertEquals("c", results.get(2).getTransaction().getTransactionId());
+    }
+
+    @Test
+    @DisplayName("락 취득 실패 - 해당 계좌 항목만 실패")
+    void useBalanceBatch_lockFailed() {
+        //given
+        willAnswer(invocation -> {
+            if ("1000000000".equals(invocation.getArgument(0))) {
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+            return null;
+        }).given(lockService).lock(anyString());
+        given(transactionService.useBalanceGroup(eq("1000000001"), anyList()))
+                .willReturn(Arrays.asList(
+                        UseBalanceBatch.Result.success(transaction("1000000001", "b"))));
+
+        //when
+        List<UseBalanceBatch.Result> results = transactionBatchService.useBalanceBatch(
+                Arrays.asList(
+                        new UseBalance.Request(1L, "1000000000", 100L),
+                        new UseBalance.Request(1L, "1000000001", 100L)));
+
+        //then
+        verify(lockService, times(0)).unLock("1000000000");
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, results.get(0).getErrorCode());
+        assertTrue(results.get(1).isSuccess());
+    }
+
+    @Test
+    @DisplayName("SERIAL 모드 - 락 대신 계좌 실행 큐에서 처리")
+    void useBalanceBatch_serial() {
+        //given
+        given(accountSerialExecutor.isEnabled()).willReturn(true);
+        willAnswer(invocation -> ((Callable<?>) invocation.getArgument(1)).call())
+                .given(accountSerialExecutor).execute(eq("1000000000"), any());
+        given(transactionService.useBalanceGroup(eq("1000000000"), anyList()))
+                .willReturn(Arrays.asList(
+                        UseBalanceBatch.Result.success(transaction("1000000000", "a"))));
+
+        //when
+        List<UseBalanceBatch.Result> results = transactionBatchService.useBalanceBatch(
+                Arrays.asList(new UseBalance.Request(1L, "1000000000", 100L)));
+
+        //then
+        verify(accountSerialExecutor, times(1)).execute(eq("1000000000"), any());
+        verify(lockService, times(0)).lock(anyString());
+        assertEquals("a", results.get(0).getTransaction().getTransactionId());
+    }
+
+    @Test
+    @DisplayName("Redis 잔액 엔진 계좌 - @AccountLock 과 같이 락 없이 처리")
+    void useBalanceBatch_redisBalanceAccount() {
+        //given
+        given(redisBalanceEngine.isManaged("1000000000")).willReturn(true);
+        given(transactionService.useBalanceGroup(eq("1000000000"), anyList()))
+                .willReturn(Arrays.asList(
+                        UseBalanceBatch.Result.success(transaction("1000000000", "a"))));
+
+        //when
+        List<UseBalanceBatch.Result> results = transactionBatchService.useBalanceBatch(
+                Arrays.asList(new UseBalance.Request(1L, "1000000000", 100L)));
+
+        //then
+        verify(lockService, times(0)).lock(anyString());
+        assertTrue(results.get(0).isSuccess());
+    }
+
+    private static TransactionDto transaction(String accountNumber, String transactionId) {
+        return TransactionDto.builder()
+                .accountNumber(accountNumber)
+                .transactionId(transactionId)
+                .amount(100L)
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.ExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static com.example.account.type.TransactionResultType.SUCCESS;
+import static com.example.account.type.TransactionType.USE_BALANCE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import(TransactionExportService.class)
+class TransactionExportServiceTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    private Long accountId;
+
+    @BeforeEach
+    void setUp() {
+        AccountUser accountUser = entityManager.persist(AccountUser.builder()
+                .name("Pobi").build());
+        Account account = entityManager.persist(Account.builder()
+                .accountUser(accountUser)
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L).build());
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(Transaction.builder()
+                    .account(account)
+                    .transactionType(USE_BALANCE)
+                    .transactionResultType(SUCCESS)
+                    .amount(100L)
+                    .balanceSnapshot(10000L - 100L * (i + 1))
+                    .transactionId("tx" + i)
+                    .transactedAt(BASE.plusDays(i))
+                    .build());
+        }
+        entityManager.flush();
+        accountId = account.getId();
+    }
+
+    @Test
+    @DisplayName("기간 내 거래를 NDJSON 으로 내보내기 (to 미포함)")
+    void exportNdjson() throws IOException {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long count = transactionExportService.export(accountId,
+                BASE, BASE.plusDays(2), ExportFormat.NDJSON, out);
+
+        //then
+        assertEquals(2, count);
+        assertArrayEquals(new String[]{
+                "{\"transactionId\":\"tx0\",\"transactionType\":\"USE_BALANCE\","
+                        + "\"transactionResultType\":\"SUCCESS\",\"amount\":100,"
+                        + "\"balanceSnapshot\":9900,\"transactedAt\":\"2024-01-01T00:00\"}",
+                "{\"transactionId\":\"tx1\",\"transactionType\":\"USE_BALANCE\","
+                        + "\"transactionResultType\":\"SUCCESS\",\"amount\":100,"
+                        + "\"balanceSnapshot\":9800,\"transactedAt\":\"2024-01-02T00:00\"}"
+        }, out.toString(StandardCharsets.UTF_8).split("\n"));
+    }
+
+    @Test
+    @DisplayName("기간 내 거래를 CSV 로 내보내기")
+    void exportCsv() throws IOException {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long count = transactionExportService.export(accountId,
+                BASE.plusDays(1), BASE.plusDays(10), ExportFormat.CSV, out);
+
+        //then
+        assertEquals(2, count);
+        assertArrayEquals(new String[]{
+                "transactionId,transactionType,transactionResultType,amount,balanceSnapshot,transactedAt",
+                "tx1,USE_BALANCE,SUCCESS,100,9800,2024-01-02T00:00",
+                "tx2,USE_BALANCE,SUCCESS,100,9700,2024-01-03T00:00"
+        }, out.toString(StandardCharsets.UTF_8).split("\n"));
+    }
+}
@@ -4,12 +4,19 @@ import com.example.account.Exception.AccountException;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.domain.Transaction;
+import com.example.account.dto.TransactionCursor;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionHistoryItem;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
 import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountSlotRepository;
 import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.TransactionJdbcRepository;
 import com.example.account.repository.TransactionRepository;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
+import com.example.account.type.LockMode;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,8 +24,12 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static com.example.account.type.AccountStatus.IN_USE;
@@ -29,6 +40,7 @@ import static com.example.account.type.TransactionType.USE_BALANCE;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -40,6 +52,17 @@ class TransactionServiceTest {
     private AccountRepository accountRepository;
     @Mock
     private AccountUserRepository accountUserRepository;
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+    @Mock
+    private AccountCache accountCache;
+    @Mock
+    private TransactionJdbcRepository transactionJdbcRepository;
+
+    @Mock
+    private RedisBalanceEngine redisBalanceEngine;
+    @Mock
+    private AccountSlotRepository accountSlotRepository;
 
     @InjectMocks
     private TransactionService transactionService;
@@ -102,6 +125,32 @@ class TransactionServiceTest {
     }
 
 
+    @Test
+    @DisplayName("분할된 계좌 - 잔액 사용 실패")
+    void useBalance_accountSharded() {
+        //given
+        AccountUser accountUser = AccountUser.builder()
+                .name("POBI").build();
+        accountUser.setId(12L);
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(accountUser));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(Account.builder()
+                        .accountUser(accountUser)
+                        .accountStatus(AccountStatus.IN_USE)
+                        .balance(0L)
+                        .slotCount(2)
+                        .accountNumber("1000000012").build()));
+
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(12L, "1000000012", 200L));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_SHARDED, accountException.getErrorCode());
+        verify(transactionRepository, times(0)).save(any());
+    }
+
     @Test
     @DisplayName("해당 계좌 없음 - 잔액 사용 실패")
     void deleteAccount_accountNotFound() {
@@ -226,6 +275,45 @@ class TransactionServiceTest {
         assertEquals(ErrorCode.INVALID_REQUEST, accountException.getErrorCode());
     }
 
+    @Test
+    @DisplayName("같은 계좌 여러 건 잔액 사용 - 실패한 항목만 실패 처리")
+    void useBalanceGroup() {
+        //given
+        AccountUser accountUser = AccountUser.builder()
+                .name("POBI").build();
+        accountUser.setId(12L);
+        Account account = Account.builder()
+                .accountUser(accountUser)
+                .accountStatus(IN_USE)
+                .accountNumber("1000000000")
+                .balance(10000L).build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(accountUser));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.save(any()))
+                .will(invocation -> invocation.getArgument(0));
+
+        ArgumentCaptor<Transaction> transactionArgumentCaptor = ArgumentCaptor.forClass(Transaction.class);
+        //when
+        List<UseBalanceBatch.Result> results = transactionService.useBalanceGroup(
+                "1000000000", Arrays.asList(
+                        new UseBalance.Request(12L, "1000000000", 3000L),
+                        new UseBalance.Request(12L, "1000000000", 9000L),
+                        new UseBalance.Request(12L, "1000000000", 5000L)));
+
+        //then
+        verify(accountUserRepository, times(1)).findById(12L);
+        verify(transactionRepository, times(3)).save(transactionArgumentCaptor.capture());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, results.get(1).getErrorCode());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(FAILED, transactionArgumentCaptor.getAllValues().get(1).getTransactionResultType());
+        assertEquals(2000L, transactionArgumentCaptor.getAllValues().get(2).getBalanceSnapshot());
+        assertEquals(2000L, account.getBalance());
+    }
+
     @Test
     @DisplayName("거래실패내역 저장")
     void saveFailedUseTransaction() {
@@ -274,7 +362,7 @@ class TransactionServiceTest {
                 .balance(9600L).build();
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findWithAccountByTransactionId(anyString()))
                 .willReturn(
                         Optional.of(
                                 Transaction.builder()
@@ -320,7 +408,7 @@ class TransactionServiceTest {
     @DisplayName("해당 계좌 없음 - 거래 취소 실패")
     void cancelTransaction_accountNotFound() {
         //given
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findWithAccountByTransactionId(anyString()))
                 .willReturn(Optional.of(Transaction.builder().build()));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.empty());
@@ -337,7 +425,7 @@ class TransactionServiceTest {
     @DisplayName("해당 거래 없음 - 거래 취소 실패")
     void cancelTransaction_transactionNotFound() {
         //given
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findWithAccountByTransactionId(anyString()))
                 .willReturn(Optional.empty());
 
         //when
@@ -375,7 +463,7 @@ class TransactionServiceTest {
         //given
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account1));
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findWithAccountByTransactionId(anyString()))
                 .willReturn(Optional.of(transaction));
 
         //when
@@ -408,7 +496,7 @@ class TransactionServiceTest {
         //given
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account1));
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findWithAccountByTransactionId(anyString()))
                 .willReturn(Optional.of(transaction));
 
         //when
@@ -441,7 +529,7 @@ class TransactionServiceTest {
         //given
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account1));
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findWithAccountByTransactionId(anyString()))
                 .willReturn(Optional.of(transaction));
 
         //when
@@ -455,25 +543,17 @@ class TransactionServiceTest {
     @Test
     @DisplayName("거래 아이디 조회")
     void successQueryTransaction() {
-        Account account = Account.builder()
-                .accountStatus(IN_USE)
-                .accountNumber("1000000001")
-                .balance(10000L).build();
-        account.setId(2L);
-
-        Transaction transaction = Transaction.builder()
-                .transactionType(USE_BALANCE)
-                .transactionResultType(SUCCESS)
-                .account(account)
-                .amount(200L)
-                .balanceSnapshot(9800L)
-                .transactedAt(LocalDateTime.now())
-                .transactionId("transactionId")
-                .build();
-
         //given
-        given(transactionRepository.findByTransactionId(anyString()))
-                .willReturn(Optional.of(transaction));
+        given(transactionRepository.findDtoByTransactionId(anyString()))
+                .willReturn(Optional.of(TransactionDto.builder()
+                        .transactionType(USE_BALANCE)
+                        .transactionResultType(SUCCESS)
+                        .accountNumber("1000000001")
+                        .amount(200L)
+                        .balanceSnapshot(9800L)
+                        .transactedAt(LocalDateTime.now())
+                        .transactionId("transactionId")
+                        .build()));
 
         //when
         TransactionDto transactionDto = transactionService
@@ -483,13 +563,15 @@ class TransactionServiceTest {
         assertEquals(200L, transactionDto.getAmount());
         assertEquals(SUCCESS, transactionDto.getTransactionResultType());
         assertEquals("transactionId", transactionDto.getTransactionId());
+        assertEquals("1000000001", transactionDto.getAccountNumber());
+        verify(transactionRepository, times(0)).findByTransactionId(anyString());
     }
 
     @Test
     @DisplayName("해당 거래 없음 - 거래 조회 실패")
     void queryTransaction_transactionNotFound() {
         //given
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findDtoByTransactionId(anyString()))
                 .willReturn(Optional.empty());
 
         //when
@@ -499,4 +581,168 @@ class TransactionServiceTest {
         //then
         assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, accountException.getErrorCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("계좌 거래 내역 조회 - 커서 이후부터 limit 건")
+    void successGetTransactionHistory() {
+        //given
+        Account account = Account.builder()
+                .accountStatus(IN_USE)
+                .accountNumber("1000000001")
+                .balance(10000L).build();
+        account.setId(2L);
+        TransactionCursor cursor = new TransactionCursor(
+                LocalDateTime.of(2024, 1, 1, 0, 0), 100L);
+
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.findHistory(anyLong(), any(), anyLong(),
+                any(), any(), any()))
+                .willReturn(Arrays.asList(TransactionHistoryItem.builder()
+                        .id(99L).transactionId("a").build()));
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+
+        //when
+        List<TransactionHistoryItem> items = transactionService.getTransactionHistory(
+                "1000000001", USE_BALANCE, null, cursor, 21);
+
+        //then
+        verify(transactionRepository, times(1)).findHistory(eq(2L),
+                eq(cursor.getTransactedAt()), eq(100L), eq(USE_BALANCE), isNull(),
+                captor.capture());
+        assertEquals(21, captor.getValue().getPageSize());
+        assertEquals(0, captor.getValue().getPageNumber());
+        assertEquals(1, items.size());
+    }
+
+    @Test
+    @DisplayName("해당 계좌 없음 - 거래 내역 조회 실패")
+    void getTransactionHistory_accountNotFound() {
+        //given
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.empty());
+
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionService.getTransactionHistory(
+                        "1000000001", null, null, TransactionCursor.FIRST, 21));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, accountException.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("ATOMIC - 조건부 UPDATE 성공 시 계좌 조회 없이 거래 저장")
+    void atomicUseBalanceSuccess() {
+        //given
+        ReflectionTestUtils.setField(transactionService, "lockMode", LockMode.ATOMIC);
+        given(transactionJdbcRepository.debit("1000000000", 12L, 1000L))
+                .willReturn(true);
+        given(transactionIdGenerator.generate()).willReturn("txid");
+
+        //when
+        TransactionDto transactionDto = transactionService.useBalance(
+                12L, "1000000000", 1000L);
+
+        //then
+        verify(transactionJdbcRepository, times(1)).insertTransaction(
+                eq(USE_BALANCE), eq(SUCCESS), eq("1000000000"), eq(1000L),
+                eq("txid"), any(LocalDateTime.class));
+        verify(accountRepository, times(0)).findByAccountNumber(anyString());
+        verify(accountCache, times(1)).evict(12L);
+        assertEquals("txid", transactionDto.getTransactionId());
+        assertEquals(SUCCESS, transactionDto.getTransactionResultType());
+        assertEquals(1000L, transactionDto.getAmount());
+    }
+
+    @Test
+    @DisplayName("ATOMIC - 조건부 UPDATE 실패 시 계좌를 조회해서 실패 원인 반환")
+    void atomicUseBalance_resolveFailureReason() {
+        //given
+        ReflectionTestUtils.setField(transactionService, "lockMode", LockMode.ATOMIC);
+        AccountUser accountUser = AccountUser.builder()
+                .name("POBI").build();
+        accountUser.setId(12L);
+        Account account = Account.builder()
+                .accountUser(accountUser)
+                .accountStatus(IN_USE)
+                .accountNumber("1000000000")
+                .balance(100L).build();
+        given(transactionJdbcRepository.debit("1000000000", 12L, 1000L))
+                .willReturn(false);
+        given(accountUserRepository.findById(12L))
+                .willReturn(Optional.of(accountUser));
+        given(accountRepository.findByAccountNumber("1000000000"))
+                .willReturn(Optional.of(account));
+
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(12L, "1000000000", 1000L));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, accountException.getErrorCode());
+        verify(transactionJdbcRepository, times(0)).insertTransaction(
+                any(), any(), anyString(), anyLong(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("ATOMIC - 재시도 중 잔액이 줄었으면 다시 읽은 잔액으로 실패 원인 반환")
+    void atomicUseBalance_refreshBalanceOnRetry() {
+        //given
+        ReflectionTestUtils.setField(transactionService, "lockMode", LockMode.ATOMIC);
+        AccountUser accountUser = AccountUser.builder()
+                .name("POBI").build();
+        accountUser.setId(12L);
+        Account account = Account.builder()
+                .accountUser(accountUser)
+                .accountStatus(IN_USE)
+                .accountNumber("1000000000")
+                .balance(10000L).build();
+        given(transactionJdbcRepository.debit("1000000000", 12L, 1000L))
+                .willReturn(false);
+        given(accountUserRepository.findById(12L))
+                .willReturn(Optional.of(accountUser));
+        given(accountRepository.findByAccountNumber("1000000000"))
+                .willReturn(Optional.of(account));
+        // 첫 시도 뒤 다른 거래가 잔액을 써버린 상황
+        willAnswer(invocation -> {
+            ReflectionTestUtils.setField(account, "balance", 100L);
+            return null;
+        }).given(accountRepository).refresh(account);
+
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(12L, "1000000000", 1000L));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, accountException.getErrorCode());
+        verify(transactionJdbcRepository, times(2)).debit("1000000000", 12L, 1000L);
+        verify(accountRepository, times(1)).refresh(account);
+    }
+
+    @Test
+    @DisplayName("Redis 잔액 엔진 계좌 - DB 계좌 조회 없이 엔진에서 차감")
+    void redisBalanceEngineUseBalance() {
+        //given
+        given(redisBalanceEngine.isManaged("1000000000")).willReturn(true);
+        given(redisBalanceEngine.useBalance(12L, "1000000000", 1000L))
+                .willReturn(TransactionDto.builder()
+                        .transactionType(USE_BALANCE)
+                        .transactionResultType(SUCCESS)
+                        .accountNumber("1000000000")
+                        .amount(1000L)
+                        .balanceSnapshot(9000L)
+                        .transactionId("txid")
+                        .build());
+
+        //when
+        TransactionDto transactionDto = transactionService.useBalance(
+                12L, "1000000000", 1000L);
+
+        //then
+        verify(accountRepository, times(0)).findByAccountNumber(anyString());
+        verify(transactionRepository, times(0)).save(any());
+        assertEquals(9000L, transactionDto.getBalanceSnapshot());
+        assertEquals("txid", transactionDto.getTransactionId());
+    }
+}